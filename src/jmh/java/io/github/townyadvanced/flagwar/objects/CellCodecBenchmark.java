@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import com.palmergames.bukkit.towny.object.Coord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CellCodec#toKey(int, int)} against the division and Cell allocation that
+ * {@link Cell#parse(String, int, int)} performed before it delegated to the codec.
+ * <p>
+ * Run with {@code mvn -P jmh test-compile exec:exec}. The profile enables JMH's GC profiler, whose
+ * {@code gc.alloc.rate.norm} column is the bytes allocated per call: 0 for the codec.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CellCodecBenchmark {
+
+    /** Number of block columns cycled through, a power of two so the index wraps with a mask. */
+    private static final int COLUMNS = 1 << 10;
+    /** The largest distance of a block column from the origin. */
+    private static final int RANGE = 30_000;
+    /** Seed of the block columns, so every run converts the same ones. */
+    private static final long SEED = 42L;
+    /** Name of the world parsed Cells are placed in. */
+    private static final String WORLD_NAME = "world";
+
+    /** The cell size, a power of two taking the shift and otherwise the division. */
+    @Param({"16", "10"})
+    public int cellSize;
+
+    /** The block x coordinates. */
+    private final int[] xs = new int[COLUMNS];
+    /** The block z coordinates. */
+    private final int[] zs = new int[COLUMNS];
+    /** Index of the next block column. */
+    private int next;
+
+    /** Set the cell size and pick the block columns, half of them negative. */
+    @Setup
+    public void setUp() {
+        Coord.setCellSize(cellSize);
+        var random = new Random(SEED);
+        for (var i = 0; i < COLUMNS; i++) {
+            xs[i] = random.nextInt(2 * RANGE + 1) - RANGE;
+            zs[i] = random.nextInt(2 * RANGE + 1) - RANGE;
+        }
+    }
+
+    /** @return the Cell containing the next block column, parsed as Cell.parse did before the codec. */
+    @Benchmark
+    public Cell legacyParse() {
+        int i = next++ & (COLUMNS - 1);
+        return parseAsBefore(WORLD_NAME, xs[i], zs[i]);
+    }
+
+    /** @return the packed key of the Cell containing the next block column. */
+    @Benchmark
+    public long codecToKey() {
+        int i = next++ & (COLUMNS - 1);
+        return CellCodec.toKey(xs[i], zs[i]);
+    }
+
+    /**
+     * The body of {@link Cell#parse(String, int, int)} before it delegated to {@link CellCodec}.
+     * @param worldName the World's name.
+     * @param x the block's x coordinate.
+     * @param z the block's z coordinate.
+     * @return a new Cell.
+     */
+    private static Cell parseAsBefore(final String worldName, final int x, final int z) {
+        int size = Coord.getCellSize();
+        int xResult = x / size;
+        int zResult = z / size;
+        boolean xNeedFix = x % size != 0;
+        boolean zNeedFix = z % size != 0;
+        return new Cell(worldName, xResult - (x < 0 && xNeedFix ? 1 : 0), zResult - (z < 0 && zNeedFix ? 1 : 0));
+    }
+}
@@ -24,6 +24,7 @@ import com.palmergames.bukkit.towny.TownyUniverse;
 import com.palmergames.bukkit.towny.exceptions.AlreadyRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.NotRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.TownyException;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.Town;
@@ -36,6 +37,7 @@ import com.palmergames.bukkit.towny.utils.AreaSelectionUtil;
 import com.palmergames.bukkit.util.Version;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.github.townyadvanced.flagwar.command.TownyAdminReloadAddon;
+import io.github.townyadvanced.flagwar.command.TownyAdminStatusAddon;
 import io.github.townyadvanced.flagwar.config.ConfigLoader;
 import io.github.townyadvanced.flagwar.config.FlagWarConfig;
 import io.github.townyadvanced.flagwar.events.CellAttackCanceledEvent;
@@ -49,8 +51,13 @@ import io.github.townyadvanced.flagwar.listeners.FlagWarCustomListener;
 import io.github.townyadvanced.flagwar.listeners.FlagWarEntityListener;
 import io.github.townyadvanced.flagwar.listeners.WarzoneListener;
 import io.github.townyadvanced.flagwar.listeners.OutlawListener;
+import io.github.townyadvanced.flagwar.objects.BeaconTemplate;
 import io.github.townyadvanced.flagwar.objects.Cell;
+import io.github.townyadvanced.flagwar.objects.CellCodec;
 import io.github.townyadvanced.flagwar.objects.CellUnderAttack;
+import io.github.townyadvanced.flagwar.objects.FlagBlock;
+import io.github.townyadvanced.flagwar.objects.FlagBlockIndex;
+import io.github.townyadvanced.flagwar.objects.RepaintPlan;
 
 import java.io.IOException;
 
@@ -58,19 +65,27 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import io.github.townyadvanced.flagwar.util.DeferredBlockWrites;
 import io.github.townyadvanced.flagwar.util.Messaging;
+import io.github.townyadvanced.flagwar.util.ChunkCountingFilter;
+import io.github.townyadvanced.flagwar.util.CooldownStore;
+import io.github.townyadvanced.flagwar.util.WorldLongMap;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.entity.Player;
@@ -86,12 +101,32 @@ public class FlagWar extends JavaPlugin {
 
     /** Holds the Bukkit {@link PluginManager}. */
     private static final PluginManager PLUGIN_MANAGER = Bukkit.getPluginManager();
-    /** Holds a hashmap of all active {@link CellUnderAttack}. **/
-    private static final Map<Cell, CellUnderAttack> ATTACK_HASH_MAP = new HashMap<>();
-    /** Holds a map of {@link Player}s and a list of {@link CellUnderAttack} flagged by them. */
-    private static final Map<String, List<CellUnderAttack>> PLAYER_ATTACK_HASH_MAP = new HashMap<>();
-    /** Holds a map of {@link Town}s, and when they were last flagged. */
-    private static final Map<Town, Instant> TOWN_LAST_FLAGGED_HASH_MAP = new HashMap<>();
+    /** Holds all active {@link CellUnderAttack}, per world, keyed by {@link Cell#getKey()}. **/
+    private static final WorldLongMap<CellUnderAttack> ATTACK_MAP = new WorldLongMap<>();
+    /** Counts, per world, the chunks overlapped by an active {@link CellUnderAttack}, for cheap negative lookups. */
+    private static final ChunkCountingFilter WAR_CHUNKS = new ChunkCountingFilter();
+    /** Version of the {@link #ATTACK_MAP}, bumped after every attack registered or removed. */
+    private static final AtomicLong ATTACK_VERSION = new AtomicLong();
+    /** Last published snapshot of the {@link #ATTACK_MAP}, rebuilt lazily once {@link #ATTACK_VERSION} moves on. */
+    private static volatile AttackSnapshot attackSnapshot = new AttackSnapshot(0, Collections.emptyList());
+    /**
+     * Holds a map of {@link Player} UUIDs and the {@link CellUnderAttack}s flagged by them. Arrays are replaced, never
+     * modified, so they can be handed out as read-only views and iterated while attacks are being canceled.
+     */
+    private static final Map<UUID, CellUnderAttack[]> PLAYER_ATTACK_HASH_MAP = new ConcurrentHashMap<>();
+    /** Shared value for players or towns without any active flags. */
+    private static final CellUnderAttack[] NO_FLAGS = new CellUnderAttack[0];
+    /**
+     * Holds a map of defending {@link Town} UUIDs, and the {@link CellUnderAttack}s placed within them. Arrays are
+     * replaced, never modified.
+     */
+    private static final Map<UUID, CellUnderAttack[]> TOWN_ATTACK_HASH_MAP = new ConcurrentHashMap<>();
+    /** Holds when {@link Town}s, by UUID, were last flagged, until their interaction cooldown ends. */
+    private static final CooldownStore TOWN_COOLDOWNS = new CooldownStore();
+    /** Holds a map of {@link Nation} UUIDs, and the number of active attacks against their member Towns. */
+    private static final Map<UUID, Integer> NATION_ATTACK_COUNT_MAP = new ConcurrentHashMap<>();
+    /** Holds when any member Town of a {@link Nation}, by UUID, was last flagged, until the cooldown ends. */
+    private static final CooldownStore NATION_COOLDOWNS = new CooldownStore();
     /** FlagWar Copyright String. */
     private static final String FW_COPYRIGHT = "Copyright © 2021–2023 TownyAdvanced";
     /** Version for storing the minimum required version of Towny, for compatibility. */
@@ -106,12 +141,24 @@ public class FlagWar extends JavaPlugin {
     private static final Logger FW_LOGGER = Logger.getLogger("FlagWar");
     /** The number of cardinal directions. */
     private static final int DIRECTIONS = 4;
+    /** Milliseconds per server tick, at the nominal 20 ticks per second. */
+    private static final long MILLIS_PER_TICK = 50;
+    /** Ticks between drops of idle region clocks. */
+    private static final long REGION_REAP_TICKS = 600;
+    /** Ticks between evaluations of the load shedder. */
+    private static final long LOAD_CHECK_TICKS = 20;
 
     /** Stores instance of Plugin, for easy operations. */
     private static Plugin plugin;
 
     /** Stores the Scheduler used in Folia/Non-Folia operations. */
     private final Object scheduler;
+    /** The global {@link WarClock}, driving timers which do not touch the world, such as cooldown expiries. */
+    private WarClock warClock;
+    /** The region-pinned {@link WarClock}s driving every attack's timers. */
+    private WarRegionClocks regionClocks;
+    /** The {@link LoadShedder}, evaluated every second by the {@link #warClock}. */
+    private LoadShedder loadShedder;
 
     /** Holds instance of the {@link FlagWarBlockListener}. */
     private FlagWarBlockListener flagWarBlockListener;
@@ -145,9 +192,11 @@ public class FlagWar extends JavaPlugin {
             initializeListeners();
             loadFlagWarMaterials();
             registerEvents();
+            startWarClock();
             bStatsKickstart();
 
             new TownyAdminReloadAddon();
+            new TownyAdminStatusAddon();
         }
     }
 
@@ -164,6 +213,8 @@ public class FlagWar extends JavaPlugin {
             onDisable();
             return false;
         }
+        BeaconTemplate.reload();
+        RepaintPlan.reload();
         return true;
     }
 
@@ -172,11 +223,34 @@ public class FlagWar extends JavaPlugin {
     public void onDisable() {
         FW_LOGGER.log(Level.INFO, () -> Translate.from("shutdown.cancel-all"));
 
-        if (!ATTACK_HASH_MAP.isEmpty()) {
-            for (CellUnderAttack cell : new ArrayList<>(ATTACK_HASH_MAP.values())) {
+        if (!ATTACK_MAP.isEmpty()) {
+            for (CellUnderAttack cell : getCellsUnderAttack()) {
                 attackCanceled(cell);
             }
         }
+        CellUnderAttack.tearDownPending();
+        if (warClock != null) {
+            warClock.stop();
+        }
+        if (regionClocks != null) {
+            regionClocks.stopAll();
+        }
+        DeferredBlockWrites.flushAll();
+    }
+
+    /**
+     * Create the {@link #warClock}, {@link #regionClocks} and {@link #loadShedder}, if needed, and start the warClock.
+     * The warClock also periodically drops region clocks which have run out of timers, and evaluates the loadShedder.
+     */
+    private void startWarClock() {
+        if (warClock == null) {
+            warClock = new WarClock(getScheduler());
+            regionClocks = new WarRegionClocks(getScheduler());
+            loadShedder = new LoadShedder(warClock, regionClocks);
+            warClock.schedule(regionClocks::reap, REGION_REAP_TICKS, REGION_REAP_TICKS);
+            warClock.schedule(loadShedder::evaluate, LOAD_CHECK_TICKS, LOAD_CHECK_TICKS);
+        }
+        warClock.start();
     }
 
     private void setLocale() {
@@ -266,29 +340,38 @@ public class FlagWar extends JavaPlugin {
 
     /**
      * Function to register an attack to a player (by running through
-     * {@link #addFlagToPlayerCount(String, CellUnderAttack)}), add it to the {@link #ATTACK_HASH_MAP}, and run
-     * {@link CellUnderAttack#beginAttack()}.
+     * {@link #addFlagToPlayerCount(UUID, CellUnderAttack, int)}), add it to the {@link #ATTACK_MAP}, and begin it
+     * through {@link LoadShedder#beginOrQueue(CellUnderAttack)}.
+     * <p>
+     * Both the flag limit check and the cell claim are atomic, so concurrent placements from different region threads
+     * can neither exceed a player's limit nor register two attacks on the same cell.
      *
      * @param cell CellUnderAttack to process.
      * @throws TownyException if the Player's active flags would become greater than the Maximum per Player.
-     * @throws TownyException if the attackCell is already registered in the {@link #ATTACK_HASH_MAP}.
+     * @throws TownyException if the attackCell is already registered in the {@link #ATTACK_MAP}.
      */
     public static void registerAttack(final CellUnderAttack cell) throws TownyException {
 
-        CellUnderAttack attackCell = ATTACK_HASH_MAP.get(cell);
-        String playerName = cell.getNameOfFlagOwner();
-        checkCellAlreadyRegistered(attackCell);
-        checkPlayerActiveFlagLimit(playerName);
+        UUID flagOwner = cell.getFlagOwnerUUID();
+        checkCellAlreadyRegistered(getAttackData(cell));
+        checkPlayerActiveFlagLimit(flagOwner, cell);
 
-        addFlagToPlayerCount(playerName, cell);
-        ATTACK_HASH_MAP.put(cell, cell);
-        cell.beginAttack();
+        CellUnderAttack attackCell = ATTACK_MAP.putIfAbsent(cell.getWorldName(), cell.getKey(), cell);
+        if (attackCell != null) {
+            removeFlagFromPlayerCount(flagOwner, cell);
+            checkCellAlreadyRegistered(attackCell);
+        }
+        ATTACK_VERSION.incrementAndGet();
+        adjustWarChunks(cell, true);
+        addFlagToTownIndex(cell);
+        getFlagWar().getLoadShedder().beginOrQueue(cell);
     }
 
-    private static void checkPlayerActiveFlagLimit(final String playerName) throws TownyException {
-        if ((getNumActiveFlags(playerName) + 1) > FlagWarConfig.getMaxActiveFlagsPerPerson()) {
-            throw new TownyException(Translate.fromPrefixed("error.flag.max-flags-placed",
-                FlagWarConfig.getMaxActiveFlagsPerPerson()));
+    private static void checkPlayerActiveFlagLimit(final UUID playerUUID, final CellUnderAttack cell)
+        throws TownyException {
+        int maxFlags = FlagWarConfig.getMaxActiveFlagsPerPerson();
+        if (!addFlagToPlayerCount(playerUUID, cell, maxFlags)) {
+            throw new TownyException(Translate.fromPrefixed("error.flag.max-flags-placed", maxFlags));
         }
     }
 
@@ -334,60 +417,131 @@ public class FlagWar extends JavaPlugin {
         FlagWarConfig.setEditableMaterials();
     }
 
-    static int getNumActiveFlags(final String playerName) {
-        List<CellUnderAttack> activeFlags = PLAYER_ATTACK_HASH_MAP.get(playerName);
-        return activeFlags == null ? 0 : activeFlags.size();
+    static int getNumActiveFlags(final UUID playerUUID) {
+        return PLAYER_ATTACK_HASH_MAP.getOrDefault(playerUUID, NO_FLAGS).length;
     }
 
+    /**
+     * Returns the current snapshot of all attacks, rebuilding it only if an attack was registered or removed since
+     * it was last built. Repeated calls without changes return the same list.
+     * @return an unmodifiable list of every {@link CellUnderAttack}.
+     */
     static List<CellUnderAttack> getCellsUnderAttack() {
-        return new ArrayList<>(ATTACK_HASH_MAP.values());
+        AttackSnapshot snapshot = attackSnapshot;
+        // Read the version before collecting: a change made while collecting leaves the snapshot behind, never ahead.
+        long version = ATTACK_VERSION.get();
+        if (snapshot.version() == version) {
+            return snapshot.cells();
+        }
+        List<CellUnderAttack> cells = new ArrayList<>(ATTACK_MAP.size());
+        ATTACK_MAP.collectValues(cells);
+        snapshot = new AttackSnapshot(version, Collections.unmodifiableList(cells));
+        attackSnapshot = snapshot;
+        return snapshot.cells();
+    }
+
+    /** @return the current value of {@link #ATTACK_VERSION}. */
+    static long getAttackVersion() {
+        return ATTACK_VERSION.get();
     }
 
     static List<CellUnderAttack> getCellsUnderAttack(final Town town) {
-        List<CellUnderAttack> cells = new ArrayList<>();
-        for (CellUnderAttack cua : ATTACK_HASH_MAP.values()) {
-            Town townUnderAttack;
-            Location location = cua.getFlagBaseBlock().getLocation();
-            TownBlock tb = TownyAPI.getInstance().getTownBlock(location);
-            if (tb != null && tb.hasTown()) {
-                townUnderAttack = tb.getTownOrNull();
-                if (townUnderAttack == town) {
-                    cells.add(cua);
-                }
-            }
-        }
-        return cells;
+        return new ArrayList<>(Arrays.asList(TOWN_ATTACK_HASH_MAP.getOrDefault(town.getUUID(), NO_FLAGS)));
     }
 
     static boolean isUnderAttack(final Town town) {
-        for (CellUnderAttack cua : ATTACK_HASH_MAP.values()) {
-            Town townUnderAttack;
-            Location location = cua.getFlagBaseBlock().getLocation();
-            TownBlock tb = TownyAPI.getInstance().getTownBlock(location);
-            if (tb != null && tb.hasTown()) {
-                townUnderAttack = tb.getTownOrNull();
-                if (townUnderAttack == town) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return TOWN_ATTACK_HASH_MAP.containsKey(town.getUUID());
+    }
+
+    static boolean isUnderAttack(final Nation nation) {
+        return NATION_ATTACK_COUNT_MAP.containsKey(nation.getUUID());
     }
 
     static boolean isUnderAttack(final Cell cell) {
-        return ATTACK_HASH_MAP.containsKey(cell);
+        return getAttackData(cell) != null;
     }
 
     static CellUnderAttack getAttackData(final Cell cell) {
-        return ATTACK_HASH_MAP.get(cell);
+        return ATTACK_MAP.get(cell.getWorldName(), cell.getKey());
+    }
+
+    /**
+     * Allocation-free lookup of the {@link CellUnderAttack} at a pair of Cell coordinates.
+     * @param worldName name of the world.
+     * @param cellX the Cell's x coordinate.
+     * @param cellZ the Cell's z coordinate.
+     * @return the CellUnderAttack, or null if the Cell is not under attack.
+     */
+    static CellUnderAttack getAttackDataAtCell(final String worldName, final int cellX, final int cellZ) {
+        return ATTACK_MAP.get(worldName, Cell.packKey(cellX, cellZ));
+    }
+
+    /**
+     * Allocation-free lookup of the {@link CellUnderAttack} containing a block column.
+     * @param world the world.
+     * @param blockX the block's x coordinate.
+     * @param blockZ the block's z coordinate.
+     * @return the CellUnderAttack, or null if the Cell is not under attack.
+     */
+    static CellUnderAttack getAttackData(final World world, final int blockX, final int blockZ) {
+        if (!mightBeUnderAttack(world, blockX, blockZ)) {
+            return null;
+        }
+        return ATTACK_MAP.get(world, CellCodec.toKey(blockX, blockZ));
+    }
+
+    /**
+     * Check the {@link #WAR_CHUNKS} filter for a block column. A false result is exact, and needs no further lookups.
+     * @param world the world.
+     * @param blockX the block's x coordinate.
+     * @param blockZ the block's z coordinate.
+     * @return false if no active attack overlaps the block's chunk; true if one might.
+     */
+    static boolean mightBeUnderAttack(final World world, final int blockX, final int blockZ) {
+        return mightBeUnderAttack(world.getName(), blockX, blockZ);
+    }
+
+    /**
+     * Check the {@link #WAR_CHUNKS} filter for a block column. A false result is exact, and needs no further lookups.
+     * @param worldName name of the world.
+     * @param blockX the block's x coordinate.
+     * @param blockZ the block's z coordinate.
+     * @return false if no active attack overlaps the block's chunk; true if one might.
+     */
+    static boolean mightBeUnderAttack(final String worldName, final int blockX, final int blockZ) {
+        return WAR_CHUNKS.mightContain(worldName, blockX, blockZ);
+    }
+
+    /**
+     * Add or remove the block area covered by a {@link CellUnderAttack}, its beacon included, in the
+     * {@link #WAR_CHUNKS} filter.
+     * @param cell the CellUnderAttack being registered or removed.
+     * @param add true when registering, false when removing.
+     */
+    private static void adjustWarChunks(final CellUnderAttack cell, final boolean add) {
+        int cellSize = Coord.getCellSize();
+        int minX = cell.getX() * cellSize;
+        int minZ = cell.getZ() * cellSize;
+        if (add) {
+            WAR_CHUNKS.add(cell.getWorldName(), minX, minZ, minX + cellSize - 1, minZ + cellSize - 1);
+        } else {
+            WAR_CHUNKS.remove(cell.getWorldName(), minX, minZ, minX + cellSize - 1, minZ + cellSize - 1);
+        }
     }
 
     static void removeCellUnderAttack(final CellUnderAttack cell) {
-        removeFlagFromPlayerCount(cell.getNameOfFlagOwner(), cell);
-        ATTACK_HASH_MAP.remove(cell);
+        if (ATTACK_MAP.remove(cell.getWorldName(), cell.getKey(), cell)) {
+            ATTACK_VERSION.incrementAndGet();
+            adjustWarChunks(cell, false);
+            removeFlagFromPlayerCount(cell.getFlagOwnerUUID(), cell);
+            removeFlagFromTownIndex(cell);
+        }
     }
 
     static void attackWon(final CellUnderAttack cell) {
+        if (!cell.markResolved()) {
+            return;
+        }
         var cellWonEvent = new CellWonEvent(cell);
         PLUGIN_MANAGER.callEvent(cellWonEvent);
         cell.cancel();
@@ -395,6 +549,9 @@ public class FlagWar extends JavaPlugin {
     }
 
     static void attackDefended(final Player player, final CellUnderAttack cell) {
+        if (!cell.markResolved()) {
+            return;
+        }
         var cellDefendedEvent = new CellDefendedEvent(player, cell);
         PLUGIN_MANAGER.callEvent(cellDefendedEvent);
         cell.cancel();
@@ -402,6 +559,9 @@ public class FlagWar extends JavaPlugin {
     }
 
     static void attackCanceled(final CellUnderAttack cell) {
+        if (!cell.markResolved()) {
+            return;
+        }
         var cellAttackCanceledEvent = new CellAttackCanceledEvent(cell);
         PLUGIN_MANAGER.callEvent(cellAttackCanceledEvent);
         cell.cancel();
@@ -410,50 +570,219 @@ public class FlagWar extends JavaPlugin {
 
     /**
      * Cancel all active attacks started by a given player.
-     * @param playerName name of a {@link Player}, used as key when looking up CellUnderAttack to cancel.
+     * @param playerUUID UUID of a {@link Player}, used as key when looking up CellUnderAttack to cancel.
+     */
+    public static void removeAttackerFlags(final UUID playerUUID) {
+        // The array is never modified in place, so canceling attacks cannot disturb this loop.
+        for (CellUnderAttack cell : PLAYER_ATTACK_HASH_MAP.getOrDefault(playerUUID, NO_FLAGS)) {
+            attackCanceled(cell);
+        }
+    }
+
+    /**
+     * Cancel all active attacks started by a given player.
+     * @param playerName name of a {@link Player}, resolved to their {@link Resident} UUID.
      */
     public static void removeAttackerFlags(final String playerName) {
-        List<CellUnderAttack> cells = PLAYER_ATTACK_HASH_MAP.get(playerName);
-        if (cells != null) {
-            for (CellUnderAttack cell : cells) {
-                attackCanceled(cell);
-            }
+        UUID playerUUID = getResidentUUID(playerName);
+        if (playerUUID != null) {
+            removeAttackerFlags(playerUUID);
         }
     }
 
+    static List<CellUnderAttack> getCellsUnderAttackByPlayer(final UUID playerUUID) {
+        CellUnderAttack[] cells = PLAYER_ATTACK_HASH_MAP.get(playerUUID);
+        return cells == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(cells));
+    }
+
     static List<CellUnderAttack> getCellsUnderAttackByPlayer(final String playerName) {
-        List<CellUnderAttack> cells = PLAYER_ATTACK_HASH_MAP.get(playerName);
-        if (cells == null) {
-            return new ArrayList<>(0);
-        } else {
-            return new ArrayList<>(cells);
+        UUID playerUUID = getResidentUUID(playerName);
+        return playerUUID == null ? Collections.emptyList() : getCellsUnderAttackByPlayer(playerUUID);
+    }
+
+    /**
+     * @param name a {@link Resident}'s name.
+     * @return the Resident's UUID, or null if no such Resident exists.
+     */
+    private static UUID getResidentUUID(final String name) {
+        Resident resident = TownyUniverse.getInstance().getResident(name);
+        return resident == null ? null : resident.getUUID();
+    }
+
+    /**
+     * Atomically add a flag to a player's active flags, unless it would take them over a limit.
+     * @param playerUUID UUID of the flag owner.
+     * @param cell the CellUnderAttack being registered.
+     * @param maxFlags the most active flags the player may hold.
+     * @return true if the flag was added.
+     */
+    private static boolean addFlagToPlayerCount(final UUID playerUUID, final CellUnderAttack cell,
+                                                final int maxFlags) {
+        var added = new boolean[1];
+        PLAYER_ATTACK_HASH_MAP.compute(playerUUID, (uuid, current) -> {
+            CellUnderAttack[] flags = current == null ? NO_FLAGS : current;
+            if (flags.length >= maxFlags) {
+                return current;
+            }
+            added[0] = true;
+            return withCell(flags, cell);
+        });
+        return added[0];
+    }
+
+    private static void removeFlagFromPlayerCount(final UUID playerUUID, final CellUnderAttack cell) {
+        PLAYER_ATTACK_HASH_MAP.computeIfPresent(playerUUID, (uuid, current) -> withoutCell(current, cell));
+    }
+
+    /**
+     * @param cells an array of CellUnderAttack, left untouched.
+     * @param cell the CellUnderAttack to append.
+     * @return a copy of the array with the cell appended.
+     */
+    private static CellUnderAttack[] withCell(final CellUnderAttack[] cells, final CellUnderAttack cell) {
+        CellUnderAttack[] grown = Arrays.copyOf(cells, cells.length + 1);
+        grown[cells.length] = cell;
+        return grown;
+    }
+
+    /**
+     * @param cells an array of CellUnderAttack, left untouched.
+     * @param cell the CellUnderAttack to leave out.
+     * @return a copy of the array without the cell, the array itself if it did not hold the cell, or null if the copy
+     * would be empty (dropping the entry when used as a remapping result).
+     */
+    private static CellUnderAttack[] withoutCell(final CellUnderAttack[] cells, final CellUnderAttack cell) {
+        int index = Arrays.asList(cells).indexOf(cell);
+        if (index < 0) {
+            return cells;
         }
+        if (cells.length == 1) {
+            return null;
+        }
+        CellUnderAttack[] shrunk = new CellUnderAttack[cells.length - 1];
+        System.arraycopy(cells, 0, shrunk, 0, index);
+        System.arraycopy(cells, index + 1, shrunk, index, shrunk.length - index);
+        return shrunk;
     }
 
-    private static void addFlagToPlayerCount(final String playerName, final CellUnderAttack cell) {
-        List<CellUnderAttack> activeFlags = getCellsUnderAttackByPlayer(playerName);
-        activeFlags.add(cell);
-        PLAYER_ATTACK_HASH_MAP.put(playerName, activeFlags);
+    /**
+     * Add a {@link CellUnderAttack} to the {@link #TOWN_ATTACK_HASH_MAP}, keyed by the defending Town's UUID.
+     * Attacks outside any town are not indexed.
+     * @param cell the CellUnderAttack being registered.
+     */
+    private static void addFlagToTownIndex(final CellUnderAttack cell) {
+        UUID townUUID = cell.getDefendingTownUUID();
+        if (townUUID != null) {
+            TOWN_ATTACK_HASH_MAP.merge(townUUID, new CellUnderAttack[] {cell},
+                (current, added) -> withCell(current, cell));
+            adjustNationAttackCount(getNationOf(townUUID), 1);
+        }
     }
 
-    private static void removeFlagFromPlayerCount(final String playerName, final Cell cell) {
-        List<CellUnderAttack> activeFlags = PLAYER_ATTACK_HASH_MAP.get(playerName);
-        var cellUnderAttack = (CellUnderAttack) cell;
-        if (activeFlags != null) {
-            if (activeFlags.size() <= 1) {
-                PLAYER_ATTACK_HASH_MAP.remove(playerName);
-            } else {
-                activeFlags.remove(cellUnderAttack);
-                PLAYER_ATTACK_HASH_MAP.put(playerName, activeFlags);
+    /**
+     * Remove a {@link CellUnderAttack} from the {@link #TOWN_ATTACK_HASH_MAP}, dropping the Town's entry once it has
+     * no remaining attacks.
+     * @param cell the CellUnderAttack being removed.
+     */
+    private static void removeFlagFromTownIndex(final CellUnderAttack cell) {
+        UUID townUUID = cell.getDefendingTownUUID();
+        if (townUUID == null) {
+            return;
+        }
+        var removed = new boolean[1];
+        TOWN_ATTACK_HASH_MAP.computeIfPresent(townUUID, (uuid, current) -> {
+            CellUnderAttack[] remaining = withoutCell(current, cell);
+            removed[0] = remaining != current;
+            return remaining;
+        });
+        if (removed[0]) {
+            adjustNationAttackCount(getNationOf(townUUID), -1);
+        }
+    }
+
+    /**
+     * Look up the {@link Nation} a Town currently belongs to.
+     * @param townUUID UUID of the Town.
+     * @return the Town's Nation, or null if the Town is unknown or nationless.
+     */
+    private static Nation getNationOf(final UUID townUUID) {
+        Town town = TownyUniverse.getInstance().getTown(townUUID);
+        return town == null ? null : town.getNationOrNull();
+    }
+
+    /**
+     * Apply a delta to a {@link Nation}'s entry in the {@link #NATION_ATTACK_COUNT_MAP}, dropping the entry once it
+     * reaches zero.
+     * @param nation the Nation to update. Ignored if null.
+     * @param delta the number of attacks gained (positive) or lost (negative).
+     */
+    private static void adjustNationAttackCount(final Nation nation, final int delta) {
+        if (nation == null || delta == 0) {
+            return;
+        }
+        NATION_ATTACK_COUNT_MAP.compute(nation.getUUID(), (uuid, count) -> {
+            int total = (count == null ? 0 : count) + delta;
+            return total > 0 ? total : null;
+        });
+    }
+
+    /**
+     * Move a {@link Town}'s active attacks and last-flagged time into the rollups of the {@link Nation} it joined.
+     * @param town the Town which joined.
+     * @param nation the Nation joined.
+     */
+    public static void townJoinedNation(final Town town, final Nation nation) {
+        adjustNationAttackCount(nation, TOWN_ATTACK_HASH_MAP.getOrDefault(town.getUUID(), NO_FLAGS).length);
+        long townFlagged = TOWN_COOLDOWNS.getFlaggedAt(town.getUUID());
+        if (townFlagged != CooldownStore.NONE) {
+            long expiresAt = TOWN_COOLDOWNS.getExpiresAt(town.getUUID());
+            NATION_COOLDOWNS.recordLatest(nation.getUUID(), townFlagged, expiresAt);
+            scheduleCooldownExpiry(NATION_COOLDOWNS, nation.getUUID(), expiresAt);
+        }
+    }
+
+    /**
+     * Remove a {@link Town}'s active attacks from the rollups of the {@link Nation} it left, and recompute the
+     * Nation's last-flagged time from its remaining Towns.
+     * @param town the Town which left.
+     * @param nation the Nation left.
+     */
+    public static void townLeftNation(final Town town, final Nation nation) {
+        adjustNationAttackCount(nation, -TOWN_ATTACK_HASH_MAP.getOrDefault(town.getUUID(), NO_FLAGS).length);
+        Town latest = null;
+        long nationFlagged = CooldownStore.NONE;
+        for (Town member : nation.getTowns()) {
+            long memberFlagged = TOWN_COOLDOWNS.getFlaggedAt(member.getUUID());
+            if (!member.equals(town) && memberFlagged > nationFlagged) {
+                latest = member;
+                nationFlagged = memberFlagged;
             }
         }
+        if (latest == null) {
+            NATION_COOLDOWNS.remove(nation.getUUID());
+        } else {
+            long expiresAt = TOWN_COOLDOWNS.getExpiresAt(latest.getUUID());
+            NATION_COOLDOWNS.record(nation.getUUID(), nationFlagged, expiresAt);
+            scheduleCooldownExpiry(NATION_COOLDOWNS, nation.getUUID(), expiresAt);
+        }
+    }
+
+    /**
+     * Drop all rollups held for a deleted {@link Nation}.
+     * @param nationUUID UUID of the deleted Nation.
+     */
+    public static void nationDeleted(final UUID nationUUID) {
+        NATION_ATTACK_COUNT_MAP.remove(nationUUID);
+        NATION_COOLDOWNS.remove(nationUUID);
     }
 
     /**
      * Evaluate a {@link Block} to register a successful defense and/or cancel a {@link Cancellable} event.
      * <p>
-     * If a Block is in the {@link FlagWarConfig#isAffectedMaterial(Material)} list and the Block's {@link Cell}
-     * is under attack, evaluate if the Block is the flagTimerBlock, and if so: call
+     * Blocks in chunks which no active attack overlaps are rejected first, by the {@link #WAR_CHUNKS} filter.
+     * <p>
+     * If a Block is in the {@link FlagWarConfig#isAffectedMaterial(Material)} list and is part of a war flag or beacon,
+     * found with a single {@link FlagBlockIndex} lookup, evaluate if the Block is the flagTimerBlock, and if so: call
      * {@link #attackDefended(Player, CellUnderAttack)} amd cancel the event. If it is not the flagTimerBlock, but does
      * match with {@link CellUnderAttack#isImmutableBlock(Block)}: cancel the event.
      *
@@ -462,14 +791,16 @@ public class FlagWar extends JavaPlugin {
      * @param event an event being evaluated for cancellation.
      */
     public static void checkBlock(final Player player, final Block block, final Cancellable event) {
+        if (!mightBeUnderAttack(block.getWorld(), block.getX(), block.getZ())) {
+            return;
+        }
         if (FlagWarConfig.isAffectedMaterial(block.getType())) {
-            var cell = Cell.parse(block.getLocation());
-            if (cell.isUnderAttack()) {
-                CellUnderAttack cellAttackData = cell.getAttackData();
-                if (cellAttackData.isFlagTimer(block)) {
-                    FlagWar.attackDefended(player, cellAttackData);
+            FlagBlock flagBlock = FlagBlockIndex.get(block);
+            if (flagBlock != null) {
+                if (flagBlock.part() == FlagBlock.Part.TIMER) {
+                    FlagWar.attackDefended(player, flagBlock.attack());
                     event.setCancelled(true);
-                } else if (cellAttackData.isImmutableBlock(block)) {
+                } else if (flagBlock.part().isImmutable()) {
                     event.setCancelled(true);
                 }
             }
@@ -561,8 +892,12 @@ public class FlagWar extends JavaPlugin {
             coordinates = String.format("%d, %d, %d", block.getX(), block.getY(), block.getZ());
         }
 
-        TownyMessaging.sendGlobalMessage(Translate.fromPrefixed("broadcast.area.under_attack",
-            landOwnerTown.getFormattedName(), coordinates, attackingResident.getFormattedName()));
+        sendAttackMessage(Translate.fromPrefixed("broadcast.area.under_attack",
+            landOwnerTown.getFormattedName(), coordinates, attackingResident.getFormattedName()),
+            landOwnerTown, attackingTown);
+        if (getFlagWar().getLoadShedder().isQueued(getAttackData(block.getWorld(), block.getX(), block.getZ()))) {
+            Messaging.send(player, Translate.fromPrefixed("message.flag.queued"));
+        }
         return true;
     }
 
@@ -679,7 +1014,7 @@ public class FlagWar extends JavaPlugin {
             }
 
             // Check that the user can pay the fines from losing/winning all future war flags.
-            int activeFlagCount = getNumActiveFlags(attackRes.getName());
+            int activeFlagCount = getNumActiveFlags(attackRes.getUUID());
             BigDecimal defendedAttackCost = BigDecimal.valueOf(FlagWarConfig.getDefendedAttackReward())
                 .multiply(BigDecimal.valueOf(activeFlagCount).add(BigDecimal.ONE));
             BigDecimal attackWinCost;
@@ -809,29 +1144,83 @@ public class FlagWar extends JavaPlugin {
     }
 
     /**
-     * Returns an {@link Instant} for which a {@link Town} was flagged, if it is within appropriate HashMap.
+     * Returns an {@link Instant} for which a {@link Town} was flagged, if its interaction cooldown is still held.
      * @param town Target Town
      * @return An Instant which the town was last flagged. Otherwise, returns the value of {@link Instant#MAX}.
      */
     static Instant lastFlagged(final Town town) {
-        if (TOWN_LAST_FLAGGED_HASH_MAP.containsKey(town)) {
-            return TOWN_LAST_FLAGGED_HASH_MAP.get(town);
-        }
-        return Instant.MAX;
+        return toInstant(TOWN_COOLDOWNS.getFlaggedAt(town.getUUID()));
+    }
+
+    /**
+     * Returns an {@link Instant} for which any {@link Town} of a {@link Nation} was last flagged, if the cooldown is
+     * still held.
+     * @param nation Target Nation
+     * @return An Instant which the nation was last flagged. Otherwise, returns the value of {@link Instant#MAX}.
+     */
+    static Instant lastFlagged(final Nation nation) {
+        return toInstant(NATION_COOLDOWNS.getFlaggedAt(nation.getUUID()));
+    }
+
+    private static Instant toInstant(final long epochMillis) {
+        return epochMillis == CooldownStore.NONE ? Instant.MAX : Instant.ofEpochMilli(epochMillis);
+    }
+
+    /**
+     * @param town Target Town
+     * @return TRUE if the Town was flagged within {@link FlagWarConfig#getFlaggedInteractCooldown()}.
+     */
+    static boolean isFlaggedCooldownActive(final Town town) {
+        return TOWN_COOLDOWNS.isActive(town.getUUID(), System.currentTimeMillis());
+    }
+
+    /**
+     * @param nation Target Nation
+     * @return TRUE if any member Town was flagged within {@link FlagWarConfig#getFlaggedInteractCooldown()}.
+     */
+    static boolean isFlaggedCooldownActive(final Nation nation) {
+        return NATION_COOLDOWNS.isActive(nation.getUUID(), System.currentTimeMillis());
     }
 
     /**
-     * Update a {@link Town}'s entry in the {@link #TOWN_LAST_FLAGGED_HASH_MAP}.
+     * Start a {@link Town}'s interaction cooldown in the {@link #TOWN_COOLDOWNS}, as well as the rollup for its
+     * {@link Nation}, if any. The cooldown length is read from {@link FlagWarConfig#getFlaggedInteractCooldown()}
+     * once, here.
      * @param town the Town to update the last-flagged entry for.
      */
     public static void townFlagged(final Town town) {
-        if (TOWN_LAST_FLAGGED_HASH_MAP.containsKey(town)) {
-            TOWN_LAST_FLAGGED_HASH_MAP.replace(town, Instant.now());
-        } else {
-            TOWN_LAST_FLAGGED_HASH_MAP.put(town, Instant.now());
+        long now = System.currentTimeMillis();
+        long expiresAt = now + FlagWarConfig.getFlaggedInteractCooldown().toMillis();
+        TOWN_COOLDOWNS.record(town.getUUID(), now, expiresAt);
+        scheduleCooldownExpiry(TOWN_COOLDOWNS, town.getUUID(), expiresAt);
+        Nation nation = town.getNationOrNull();
+        if (nation != null) {
+            NATION_COOLDOWNS.record(nation.getUUID(), now, expiresAt);
+            scheduleCooldownExpiry(NATION_COOLDOWNS, nation.getUUID(), expiresAt);
         }
     }
 
+    /**
+     * Schedule a {@link CooldownStore} entry to be dropped once its cooldown ends, as a one-off {@link WarClock} timer.
+     * The clock counts delays from its previous tick, so the timer may run a little before the deadline, in which case
+     * it is scheduled again for the time remaining.
+     * @param store the CooldownStore holding the entry.
+     * @param uuid the UUID the entry is held for.
+     * @param expiresAt when the cooldown ends, in epoch milliseconds.
+     */
+    private static void scheduleCooldownExpiry(final CooldownStore store, final UUID uuid, final long expiresAt) {
+        WarClock clock = getFlagWar().getWarClock();
+        if (clock == null || expiresAt == CooldownStore.NONE) {
+            return;
+        }
+        long ticks = (expiresAt - System.currentTimeMillis() + MILLIS_PER_TICK - 1) / MILLIS_PER_TICK;
+        clock.scheduleOnce(() -> {
+            if (store.expire(uuid, expiresAt, System.currentTimeMillis())) {
+                scheduleCooldownExpiry(store, uuid, expiresAt);
+            }
+        }, ticks);
+    }
+
     /**
      * Used to get the Scheduler whether it is Folia or Bukkit based.
      * @return a TaskScheduler suitable for the server implementation.
@@ -840,6 +1229,48 @@ public class FlagWar extends JavaPlugin {
         return (TaskScheduler) this.scheduler;
     }
 
+    /**
+     * Used to get the global {@link WarClock}, driving timers which do not touch the world.
+     * @return the WarClock, or null before FlagWar has been enabled.
+     */
+    public WarClock getWarClock() {
+        return warClock;
+    }
+
+    /**
+     * Used to get the region-pinned {@link WarClock}s driving every attack's timers.
+     * @return the WarRegionClocks, or null before FlagWar has been enabled.
+     */
+    public WarRegionClocks getRegionClocks() {
+        return regionClocks;
+    }
+
+    /**
+     * Used to get the {@link LoadShedder} deciding which work FlagWar sheds under load.
+     * @return the LoadShedder, or null before FlagWar has been enabled.
+     */
+    public LoadShedder getLoadShedder() {
+        return loadShedder;
+    }
+
+    /**
+     * Send a message about a single attack: to the whole server, or, while the {@link LoadShedder} has turned
+     * broadcasts off, only to the {@link Town}s involved.
+     * @param message the message, already prefixed.
+     * @param towns the Towns involved. Null entries are skipped.
+     */
+    public static void sendAttackMessage(final String message, final Town... towns) {
+        if (getFlagWar().getLoadShedder().allowsBroadcasts()) {
+            TownyMessaging.sendGlobalMessage(message);
+            return;
+        }
+        for (Town town : new LinkedHashSet<>(Arrays.asList(towns))) {
+            if (town != null) {
+                TownyMessaging.sendPrefixedTownMessage(town, message);
+            }
+        }
+    }
+
     private boolean townyVersionCheck() {
         try {
             return Towny.isTownyVersionSupported(MIN_TOWNY_VER.toString());
@@ -856,4 +1287,11 @@ public class FlagWar extends JavaPlugin {
             return false;
         }
     }
+
+    /**
+     * An immutable view of every active attack, tagged with the {@link #ATTACK_VERSION} it was built at.
+     * @param version the attack version the snapshot was built at.
+     * @param cells an unmodifiable list of every CellUnderAttack.
+     */
+    private record AttackSnapshot(long version, List<CellUnderAttack> cells) { }
 }
@@ -19,11 +19,13 @@ package io.github.townyadvanced.flagwar;
 
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.Town;
+import io.github.townyadvanced.flagwar.config.FlagWarConfig;
 import io.github.townyadvanced.flagwar.objects.Cell;
 import io.github.townyadvanced.flagwar.objects.CellUnderAttack;
 
 import java.time.Instant;
 import java.util.List;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 /**
@@ -46,6 +48,52 @@ public final class FlagWarAPI {
         return FlagWar.isUnderAttack(cell);
     }
 
+    /**
+     * Check if the {@link Cell} containing a block column is under attack, without allocating a Cell.
+     * @param world The block's World.
+     * @param blockX The block's x coordinate.
+     * @param blockZ The block's z coordinate.
+     * @return True if the containing Cell is a {@link CellUnderAttack}.
+     */
+    public static boolean isUnderAttack(final World world, final int blockX, final int blockZ) {
+        return FlagWar.getAttackData(world, blockX, blockZ) != null;
+    }
+
+    /**
+     * Cheaply check if a block column might be near an active war, reading only a per-world chunk filter.
+     * A false result is exact; a true result should be confirmed with {@link #isUnderAttack(World, int, int)}.
+     * @param world The block's World.
+     * @param blockX The block's x coordinate.
+     * @param blockZ The block's z coordinate.
+     * @return False if no {@link CellUnderAttack} overlaps the block's chunk.
+     */
+    public static boolean mightBeUnderAttack(final World world, final int blockX, final int blockZ) {
+        return FlagWar.mightBeUnderAttack(world, blockX, blockZ);
+    }
+
+    /**
+     * Cheaply check if a block column might be near an active war, reading only a per-world chunk filter.
+     * A false result is exact; a true result should be confirmed with {@link #isUnderAttack(World, int, int)}.
+     * @param worldName The name of the block's World.
+     * @param blockX The block's x coordinate.
+     * @param blockZ The block's z coordinate.
+     * @return False if no {@link CellUnderAttack} overlaps the block's chunk.
+     */
+    public static boolean mightBeUnderAttack(final String worldName, final int blockX, final int blockZ) {
+        return FlagWar.mightBeUnderAttack(worldName, blockX, blockZ);
+    }
+
+    /**
+     * Check if the {@link Cell} at the given Cell (Towny) coordinates is under attack, without allocating a Cell.
+     * @param worldName Name of the Cell's World.
+     * @param cellX The Cell's x coordinate.
+     * @param cellZ The Cell's z coordinate.
+     * @return True if the Cell is a {@link CellUnderAttack}.
+     */
+    public static boolean isCellUnderAttack(final String worldName, final int cellX, final int cellZ) {
+        return FlagWar.getAttackDataAtCell(worldName, cellX, cellZ) != null;
+    }
+
     /**
      * Check if a Town has any active flag war cells.
      * @param town Target Town to check.
@@ -56,28 +104,35 @@ public final class FlagWarAPI {
     }
 
     /**
-     * Check if a {@link Nation} is under attack by iterating over each of its member Towns.
+     * Check if a {@link Nation} has any active flag war cells in its member Towns.
      * @param nation Target Nation to check.
      * @return True if there is a {@link CellUnderAttack} in any of the supplied Nation's towns.
      */
     public static boolean isUnderAttack(final Nation nation) {
-        boolean nationUnderAttack = false;
-        for (Town town : nation.getTowns()) {
-            if (FlagWarAPI.isUnderAttack(town)) {
-                nationUnderAttack = true;
-            }
-        }
-        return nationUnderAttack;
+        return FlagWar.isUnderAttack(nation);
     }
 
     /**
      * Get all cells under attack.
-     * @return A {@link CellUnderAttack} list containing all Cells under attack.
+     * <p>
+     * The list is an immutable snapshot, shared between callers and only rebuilt after an attack is registered or
+     * removed. Pollers can compare {@link #getAttackVersion()} against the version they last saw to skip unchanged
+     * snapshots entirely.
+     * @return An unmodifiable {@link CellUnderAttack} list containing all Cells under attack.
      */
     public static List<CellUnderAttack> getCellsUnderAttack() {
         return FlagWar.getCellsUnderAttack();
     }
 
+    /**
+     * Get the version of the set of cells under attack. It increases every time an attack is registered or removed,
+     * and never decreases while the plugin is loaded.
+     * @return the current attack version.
+     */
+    public static long getAttackVersion() {
+        return FlagWar.getAttackVersion();
+    }
+
     /**
      * Returns a list of cells under attack within a given Town.
      * @param town Target Town to check.
@@ -90,16 +145,17 @@ public final class FlagWarAPI {
     /**
      * Retrieves a {@link CellUnderAttack} list associated with a {@link Player}.
      * @param player The Player object to check against.
-     * @return a CellUnderAttack list tied to a Player.
+     * @return an unmodifiable CellUnderAttack list tied to a Player.
      */
     public static List<CellUnderAttack> getCellsUnderAttack(final Player player) {
-        return FlagWar.getCellsUnderAttackByPlayer(player.getName());
+        return FlagWar.getCellsUnderAttackByPlayer(player.getUniqueId());
     }
 
     /**
      * Retrieves a {@link CellUnderAttack} list associated with a player's name.
+     * Prefer {@link #getCellsUnderAttack(Player)}, as names are resolved through Towny's Residents.
      * @param playerName The player's name to check against.
-     * @return a CellUnderAttack list tied to a given player name.
+     * @return an unmodifiable CellUnderAttack list tied to a given player name.
      */
     public static List<CellUnderAttack> getCellsUnderAttack(final String playerName) {
         return FlagWar.getCellsUnderAttackByPlayer(playerName);
@@ -111,7 +167,7 @@ public final class FlagWarAPI {
      * @return The number of flags a Player has in play.
      */
     public static int getNumActiveFlags(final Player player) {
-        return FlagWar.getNumActiveFlags(player.getName());
+        return FlagWar.getNumActiveFlags(player.getUniqueId());
     }
 
     /**
@@ -124,12 +180,51 @@ public final class FlagWarAPI {
     }
 
     /**
-     * Get the Instant for when a {@link Town} was last flagged.
+     * Gets the {@link CellUnderAttack} containing a block column, without allocating a {@link Cell}.
+     * @param world The block's World.
+     * @param blockX The block's x coordinate.
+     * @param blockZ The block's z coordinate.
+     * @return The CellUnderAttack, or null if the containing Cell is not under attack.
+     */
+    public static CellUnderAttack getAttackData(final World world, final int blockX, final int blockZ) {
+        return FlagWar.getAttackData(world, blockX, blockZ);
+    }
+
+    /**
+     * Get the Instant for when a {@link Town} was last flagged, while its interaction cooldown is held.
      * @param town Target Town.
-     * @return Instant of last flag.
+     * @return Instant of last flag, or {@link Instant#MAX} if the Town has no running cooldown.
      */
     public static Instant getFlaggedInstant(final Town town) {
         return FlagWar.lastFlagged(town);
     }
 
+    /**
+     * Get the Instant for when any {@link Town} of a {@link Nation} was last flagged.
+     * @param nation Target Nation.
+     * @return Instant of last flag, or {@link Instant#MAX} if none of its Towns have been flagged.
+     */
+    public static Instant getFlaggedInstant(final Nation nation) {
+        return FlagWar.lastFlagged(nation);
+    }
+
+    /**
+     * Check if a {@link Town} is still within the interaction cooldown which follows it being flagged.
+     * @param town Target Town.
+     * @return True if the Town was flagged less than {@link FlagWarConfig#getFlaggedInteractCooldown()} ago.
+     */
+    public static boolean isFlaggedCooldownActive(final Town town) {
+        return FlagWar.isFlaggedCooldownActive(town);
+    }
+
+    /**
+     * Check if any {@link Town} of a {@link Nation} is still within the interaction cooldown which follows it being
+     * flagged.
+     * @param nation Target Nation.
+     * @return True if a member Town was flagged less than {@link FlagWarConfig#getFlaggedInteractCooldown()} ago.
+     */
+    public static boolean isFlaggedCooldownActive(final Nation nation) {
+        return FlagWar.isFlaggedCooldownActive(nation);
+    }
+
 }
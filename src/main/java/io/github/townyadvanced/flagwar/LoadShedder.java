@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar;
+
+import io.github.townyadvanced.flagwar.config.FlagWarConfig;
+import io.github.townyadvanced.flagwar.objects.CellUnderAttack;
+import org.bukkit.Bukkit;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Steps FlagWar through degradation levels as the server's recent tick times rise, shedding its own load first.
+ * <p>
+ * Each {@link ShedLevel} includes every level below it: hologram timers stop first, then beacon repaints, then the
+ * server-wide broadcast of each attack, and finally new flags are queued instead of started. The level is re-evaluated
+ * every second, moving up or down by at most one level at a time; stepping down also waits for tick times to fall
+ * {@link FlagWarConfig#getLoadSheddingRecoveryMargin()} below the threshold, so the level does not flap.
+ * <p>
+ * Tick times are read from Paper's {@code Bukkit.getAverageTickTime()}. On servers which lack it, such as Spigot, or
+ * refuse to report it, such as Folia, the interval between the global {@link WarClock}'s ticks is used instead.
+ */
+public final class LoadShedder {
+
+    /** Holds FlagWar's logger. */
+    private static final Logger LOGGER = Logger.getLogger("FlagWar");
+    /** The most queued flags started per evaluation, so recovering from overload does not cause it again. */
+    private static final int FLAGS_STARTED_PER_CHECK = 4;
+
+    /** The clock whose tick interval stands in for tick times, when the server does not report them. */
+    private final WarClock clock;
+    /** The region clocks queued flags are started on. */
+    private final WarRegionClocks regionClocks;
+    /** Attacks registered while flags are queued, waiting to begin. */
+    private final Queue<CellUnderAttack> queuedAttacks = new ConcurrentLinkedQueue<>();
+    /** The attacks in {@link #queuedAttacks}, so checking if one is queued does not scan the queue. */
+    private final Set<CellUnderAttack> queuedCells = ConcurrentHashMap.newKeySet();
+    /** The current level. */
+    private volatile ShedLevel level = ShedLevel.NORMAL;
+    /** The tick time read by the last evaluation, in milliseconds. */
+    private volatile double lastTickMillis;
+    /** FALSE if the server lacks Paper's tick time API, or once it has refused to report its tick times. */
+    private boolean serverReportsTickTimes = hasAverageTickTime();
+
+    /**
+     * Constructs a LoadShedder at {@link ShedLevel#NORMAL}.
+     * @param globalClock the clock whose tick interval stands in for tick times, when the server does not report them.
+     * @param clocks the region clocks queued flags are started on.
+     */
+    public LoadShedder(final WarClock globalClock, final WarRegionClocks clocks) {
+        this.clock = globalClock;
+        this.regionClocks = clocks;
+    }
+
+    /** Read the recent tick time, step the level towards it, and start queued flags if they are no longer held. */
+    public void evaluate() {
+        double tickMillis = readTickMillis();
+        lastTickMillis = tickMillis;
+        ShedLevel current = level;
+        ShedLevel next = current;
+        if (!FlagWarConfig.isLoadShedding()) {
+            next = ShedLevel.NORMAL;
+        } else if (current.ordinal() < ShedLevel.MAX.ordinal()
+            && tickMillis >= FlagWarConfig.getLoadSheddingThreshold(current.next())) {
+            next = current.next();
+        } else if (current != ShedLevel.NORMAL
+            && tickMillis < FlagWarConfig.getLoadSheddingThreshold(current)
+                - FlagWarConfig.getLoadSheddingRecoveryMargin()) {
+            next = current.previous();
+        }
+        if (next != current) {
+            ShedLevel changedTo = next;
+            level = changedTo;
+            LOGGER.log(Level.INFO, () -> String.format("Load shedding level changed from %s to %s (%.1f ms/tick).",
+                current, changedTo, tickMillis));
+        }
+        if (next.ordinal() < ShedLevel.QUEUE_NEW_FLAGS.ordinal()) {
+            startQueuedAttacks();
+        }
+    }
+
+    /**
+     * Check once, up front, if the server has Paper's {@code Bukkit.getAverageTickTime()}, as calling it on Spigot
+     * throws a {@link NoSuchMethodError}.
+     * @return TRUE if the method exists.
+     */
+    private static boolean hasAverageTickTime() {
+        try {
+            Bukkit.class.getMethod("getAverageTickTime");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /** @return the average tick time, in milliseconds, as reported by the server or measured by the clock. */
+    private double readTickMillis() {
+        if (serverReportsTickTimes) {
+            try {
+                return Bukkit.getAverageTickTime();
+            } catch (UnsupportedOperationException | LinkageError e) {
+                serverReportsTickTimes = false;
+            }
+        }
+        return clock.getAverageTickIntervalNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Begin a newly registered attack, or hold it until load falls, if new flags are being queued.
+     * @param cell the CellUnderAttack.
+     * @return TRUE if the attack was queued rather than begun.
+     */
+    public boolean beginOrQueue(final CellUnderAttack cell) {
+        if (level.ordinal() >= ShedLevel.QUEUE_NEW_FLAGS.ordinal()) {
+            queuedCells.add(cell);
+            queuedAttacks.add(cell);
+            return true;
+        }
+        cell.beginAttack();
+        return false;
+    }
+
+    /** Begin a few queued attacks, each on the clock of its own region, skipping any resolved while queued. */
+    private void startQueuedAttacks() {
+        for (var i = 0; i < FLAGS_STARTED_PER_CHECK; i++) {
+            CellUnderAttack cell = queuedAttacks.poll();
+            if (cell == null) {
+                return;
+            }
+            queuedCells.remove(cell);
+            regionClocks.scheduleOnce(cell.getFlagBaseBlock().getLocation(), () -> {
+                if (!cell.isResolved()) {
+                    cell.beginAttack();
+                }
+            }, 1);
+        }
+    }
+
+    /** @return the current level. */
+    public ShedLevel getLevel() {
+        return level;
+    }
+
+    /** @return the tick time read by the last evaluation, in milliseconds. */
+    public double getLastTickMillis() {
+        return lastTickMillis;
+    }
+
+    /**
+     * @param cell the CellUnderAttack, or null.
+     * @return TRUE if the attack is waiting to begin.
+     */
+    public boolean isQueued(final CellUnderAttack cell) {
+        return cell != null && queuedCells.contains(cell);
+    }
+
+    /** @return the number of attacks waiting to begin. */
+    public int getQueuedAttacks() {
+        return queuedAttacks.size();
+    }
+
+    /** @return TRUE if hologram timers should be updated. */
+    public boolean allowsHologramTimers() {
+        return level.ordinal() < ShedLevel.NO_HOLOGRAM_TIMERS.ordinal();
+    }
+
+    /** @return TRUE if beacons should be repainted as their flag's phase changes. */
+    public boolean allowsBeaconRepaints() {
+        return level.ordinal() < ShedLevel.NO_BEACON_REPAINTS.ordinal();
+    }
+
+    /** @return TRUE if each attack's messages should be broadcast to the whole server. */
+    public boolean allowsBroadcasts() {
+        return level.ordinal() < ShedLevel.NO_BROADCASTS.ordinal();
+    }
+
+    /** Degradation levels, in the order they are stepped through. Each level includes those below it. */
+    public enum ShedLevel {
+        /** Nothing is shed. */
+        NORMAL("normal"),
+        /** Hologram timers are no longer updated. */
+        NO_HOLOGRAM_TIMERS("hologram_timers"),
+        /** Beacons are no longer repainted; they catch up once the level falls. */
+        NO_BEACON_REPAINTS("beacon_repaints"),
+        /** Attack messages go only to the towns involved, instead of the whole server. */
+        NO_BROADCASTS("broadcasts"),
+        /** New flags are registered, but only begin once the level falls. */
+        QUEUE_NEW_FLAGS("new_flags");
+
+        /** The highest level. */
+        public static final ShedLevel MAX = QUEUE_NEW_FLAGS;
+
+        /** The key of the level's threshold, under 'load_shedding.thresholds_mspt'. */
+        private final String configKey;
+
+        /** @param key the key of the level's threshold, under 'load_shedding.thresholds_mspt'. */
+        ShedLevel(final String key) {
+            this.configKey = key;
+        }
+
+        /** @return the key of the level's threshold, under 'load_shedding.thresholds_mspt'. */
+        public String getConfigKey() {
+            return configKey;
+        }
+
+        /** @return the level above this one, or this one if it is the highest. */
+        public ShedLevel next() {
+            return this == MAX ? this : values()[ordinal() + 1];
+        }
+
+        /** @return the level below this one, or this one if it is the lowest. */
+        public ShedLevel previous() {
+            return this == NORMAL ? this : values()[ordinal() - 1];
+        }
+    }
+}
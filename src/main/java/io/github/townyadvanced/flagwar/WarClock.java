@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar;
+
+import com.palmergames.bukkit.towny.scheduling.ScheduledTask;
+import com.palmergames.bukkit.towny.scheduling.TaskScheduler;
+import io.github.townyadvanced.flagwar.config.FlagWarConfig;
+import io.github.townyadvanced.flagwar.util.BlockChangeQueue;
+import io.github.townyadvanced.flagwar.util.HologramRefreshQueue;
+import io.github.townyadvanced.flagwar.util.TimingWheel;
+import org.bukkit.Location;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A single repeating task driving every war timer, instead of one scheduler task per timer.
+ * <p>
+ * Flag phases, hologram ticks and cooldown expiries are all held as deadlines, in ticks, in one {@link TimingWheel},
+ * and each tick only runs the timers which are due. Timers may be scheduled or canceled from any thread: both are
+ * handed over through concurrent queues and applied at the start of the next tick, in constant time. Each due timer's
+ * canceled flag is checked right before it runs, so a timer canceled from another thread runs at most once more: only
+ * if the clock's task had already passed that check when {@link Timer#cancel()} was called. The clock also measures
+ * how much time each tick costs.
+ * <p>
+ * A clock may be pinned to a {@link Location}, in which case its task runs on the thread owning that location's
+ * region on Folia, and every timer it runs may safely touch blocks in that region. Such a clock also applies queued
+ * {@link BlockChangeQueue block changes} after its timers, within {@link FlagWarConfig#getBlockChangeBudget()} per
+ * tick, so that large beacons are drawn and removed over several ticks. Changed hologram timer lines are then pushed
+ * in a single {@link HologramRefreshQueue batch}.
+ */
+public final class WarClock {
+
+    /** Weight divisor of the exponential moving average of tick costs. */
+    private static final int AVERAGE_SMOOTHING = 20;
+    /** Holds FlagWar's logger. */
+    private static final Logger LOGGER = Logger.getLogger("FlagWar");
+
+    /** The scheduler running the clock's repeating task. */
+    private final TaskScheduler scheduler;
+    /** The location the clock's task is pinned to, or null for the global region. */
+    private final Location anchor;
+    /** Timers scheduled since the last tick, waiting to join the {@link #wheel}. */
+    private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+    /** Timers canceled since the last tick, waiting to leave the {@link #wheel}. */
+    private final Queue<Timer> canceled = new ConcurrentLinkedQueue<>();
+    /** Block changes waiting to be applied by the clock's task. */
+    private final BlockChangeQueue blockChanges = new BlockChangeQueue();
+    /** Hologram timer lines waiting to be pushed by the clock's task. */
+    private final HologramRefreshQueue hologramLines = new HologramRefreshQueue();
+    /** Every timer's next deadline. Only touched by the clock's task. */
+    private final TimingWheel<Timer> wheel = new TimingWheel<>(0);
+    /** Number of timers scheduled and not canceled or finished. */
+    private final AtomicInteger activeTimers = new AtomicInteger();
+    /** The clock's repeating task, or null while stopped. */
+    private ScheduledTask task;
+    /** The cost of the last tick, in nanoseconds. */
+    private volatile long lastTickNanos;
+    /** The exponential moving average of tick costs, in nanoseconds. */
+    private volatile long averageTickNanos;
+    /** When the last tick started, as a {@link System#nanoTime()}, or 0 before the first tick. */
+    private long lastTickStart;
+    /** The exponential moving average of the time between tick starts, in nanoseconds. */
+    private volatile long averageTickIntervalNanos;
+    /** The chunks of players who may see into the clock's region, snapshot during the current tick, or null. */
+    private volatile long[] viewerChunks;
+
+    /**
+     * Constructs a stopped WarClock.
+     * @param taskScheduler the scheduler to run the clock's repeating task with.
+     */
+    public WarClock(final TaskScheduler taskScheduler) {
+        this(taskScheduler, null);
+    }
+
+    /**
+     * Constructs a stopped WarClock, pinned to the region of a {@link Location}.
+     * @param taskScheduler the scheduler to run the clock's repeating task with.
+     * @param location the location whose region runs the clock's task, or null for the global region.
+     */
+    public WarClock(final TaskScheduler taskScheduler, final Location location) {
+        this.scheduler = taskScheduler;
+        this.anchor = location;
+    }
+
+    /** Start the clock's repeating task, if not already running. */
+    public synchronized void start() {
+        if (task == null) {
+            task = anchor == null
+                ? scheduler.runRepeating(this::tick, 1, 1)
+                : scheduler.runRepeating(anchor, this::tick, 1, 1);
+        }
+    }
+
+    /** Stop the clock's repeating task. Scheduled timers are kept, and resume if the clock is started again. */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+            lastTickStart = 0;
+        }
+    }
+
+    /**
+     * Schedule a repeating timer.
+     * @param action the action to run whenever the timer is due.
+     * @param delay the number of ticks before the first run. Values below 1 are treated as 1.
+     * @param period the number of ticks between runs. Values below 1 are treated as 1.
+     * @return the Timer, used to cancel it.
+     */
+    public Timer schedule(final Runnable action, final long delay, final long period) {
+        return enqueue(new Timer(action, Math.max(1, delay), Math.max(1, period)));
+    }
+
+    /**
+     * Schedule a timer running only once.
+     * @param action the action to run when the timer is due.
+     * @param delay the number of ticks before the run. Values below 1 are treated as 1.
+     * @return the Timer, used to cancel it.
+     */
+    public Timer scheduleOnce(final Runnable action, final long delay) {
+        return enqueue(new Timer(action, Math.max(1, delay), 0));
+    }
+
+    /**
+     * Hand a new timer over to the clock's task.
+     * @param timer the Timer.
+     * @return the Timer.
+     */
+    private Timer enqueue(final Timer timer) {
+        activeTimers.incrementAndGet();
+        pending.add(timer);
+        return timer;
+    }
+
+    /** Run every timer which is due, then record how long that took. */
+    private void tick() {
+        long start = System.nanoTime();
+        if (lastTickStart != 0) {
+            averageTickIntervalNanos += (start - lastTickStart - averageTickIntervalNanos) / AVERAGE_SMOOTHING;
+        }
+        lastTickStart = start;
+        viewerChunks = null;
+        long previousTick = wheel.currentTick();
+        for (Timer timer = canceled.poll(); timer != null; timer = canceled.poll()) {
+            if (timer.entry != null) {
+                wheel.cancel(timer.entry);
+            }
+        }
+        for (Timer timer = pending.poll(); timer != null; timer = pending.poll()) {
+            if (!timer.isCancelled()) {
+                // Counted from the tick the timer was scheduled during, as a scheduler task would be.
+                timer.entry = wheel.schedule(timer, previousTick + timer.delay);
+            }
+        }
+        wheel.advance(previousTick + 1, this::runTimer);
+        if (!blockChanges.isEmpty()) {
+            blockChanges.drain(FlagWarConfig.getBlockChangeBudget().toNanos());
+        }
+        hologramLines.flush();
+        long cost = System.nanoTime() - start;
+        lastTickNanos = cost;
+        averageTickNanos += (cost - averageTickNanos) / AVERAGE_SMOOTHING;
+    }
+
+    /**
+     * Run a timer which is due, re-scheduling it first if it repeats.
+     * @param timer the Timer.
+     */
+    private void runTimer(final Timer timer) {
+        if (timer.isCancelled()) {
+            return;
+        }
+        if (timer.period > 0) {
+            wheel.schedule(timer.entry, timer.entry.getDeadline() + timer.period);
+        } else {
+            timer.finish();
+        }
+        try {
+            timer.action.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the chunks of the players who may see into the clock's region, snapshot at most once per tick, however many
+     * timers ask.
+     * @param snapshot takes the snapshot, if none has been taken during the current tick.
+     * @return the chunk of each such player, with x in the upper and z in the lower 32 bits.
+     */
+    public long[] getViewerChunks(final Supplier<long[]> snapshot) {
+        long[] chunks = viewerChunks;
+        if (chunks == null) {
+            chunks = snapshot.get();
+            viewerChunks = chunks;
+        }
+        return chunks;
+    }
+
+    /** @return the queue of block changes applied by the clock's task. */
+    public BlockChangeQueue getBlockChanges() {
+        return blockChanges;
+    }
+
+    /** @return the queue of hologram timer lines pushed by the clock's task. */
+    public HologramRefreshQueue getHologramLines() {
+        return hologramLines;
+    }
+
+    /** @return the number of timers scheduled and not canceled or finished. */
+    public int getActiveTimers() {
+        return activeTimers.get();
+    }
+
+    /** @return the cost of the last tick, in nanoseconds. */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /** @return the moving average of tick costs, in nanoseconds. */
+    public long getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    /** @return the moving average of the time between the clock's ticks, in nanoseconds. */
+    public long getAverageTickIntervalNanos() {
+        return averageTickIntervalNanos;
+    }
+
+    /** A timer run by a {@link WarClock}, either once or repeatedly. */
+    public final class Timer {
+        /** The action run whenever the timer is due. */
+        private final Runnable action;
+        /** The number of ticks before the first run. */
+        private final long delay;
+        /** The number of ticks between runs, or 0 for a timer running once. */
+        private final long period;
+        /** Set once the timer is canceled or, for a timer running once, has run. */
+        private final AtomicBoolean done = new AtomicBoolean();
+        /** The timer's entry in the {@link #wheel}. Only touched by the clock's task. */
+        private TimingWheel.Entry<Timer> entry;
+
+        /**
+         * @param runnable the action run whenever the timer is due.
+         * @param firstDelay the number of ticks before the first run.
+         * @param runPeriod the number of ticks between runs, or 0 for a timer running once.
+         */
+        private Timer(final Runnable runnable, final long firstDelay, final long runPeriod) {
+            this.action = runnable;
+            this.delay = firstDelay;
+            this.period = runPeriod;
+        }
+
+        /**
+         * Cancel the timer. Called from the clock's own task, the timer will not run again, even if it is due during
+         * the current tick. Called from another thread, it may run at most once more, if the clock's task is already
+         * about to run it.
+         */
+        public void cancel() {
+            if (finish()) {
+                canceled.add(this);
+            }
+        }
+
+        /** @return TRUE if the timer has been canceled, or has run if it only runs once. */
+        public boolean isCancelled() {
+            return done.get();
+        }
+
+        /** @return TRUE if this call marked the timer as done. */
+        private boolean finish() {
+            if (done.compareAndSet(false, true)) {
+                activeTimers.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar;
+
+import com.palmergames.bukkit.towny.scheduling.TaskScheduler;
+import io.github.townyadvanced.flagwar.objects.Cell;
+import io.github.townyadvanced.flagwar.util.DeferredBlockWrites;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Groups war timers by region, with one {@link WarClock} pinned to each region holding an active attack.
+ * <p>
+ * Folia ticks each region on its own thread, and only that thread may modify the region's blocks. Attacks are
+ * therefore grouped by region section, a square of 16 by 16 chunks matching Folia's default region shift, and every
+ * attack in a section is run as a batch by the section's clock. Wars in different sections tick in parallel, without
+ * any cross-region scheduling. On Bukkit and Paper, every clock's task simply runs on the main thread.
+ * <p>
+ * Clocks are created on demand, and dropped by {@link #reap()} once they hold no timers.
+ */
+public final class WarRegionClocks {
+
+    /** Bits shifted from a block coordinate to get its region section: 4 for the chunk, 4 for the section. */
+    private static final int SECTION_SHIFT = 8;
+    /** Bits shifted from a block coordinate to get its chunk coordinate. */
+    private static final int CHUNK_SHIFT = 4;
+    /** Bits shifted from a region section coordinate to get the coordinate of its first chunk. */
+    private static final int SECTION_CHUNK_SHIFT = SECTION_SHIFT - CHUNK_SHIFT;
+
+    /** The scheduler running each clock's repeating task. */
+    private final TaskScheduler scheduler;
+    /** The clocks of every section holding timers, keyed by world and section. */
+    private final Map<SectionKey, WarClock> clocks = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty WarRegionClocks.
+     * @param taskScheduler the scheduler to run each clock's repeating task with.
+     */
+    public WarRegionClocks(final TaskScheduler taskScheduler) {
+        this.scheduler = taskScheduler;
+    }
+
+    /**
+     * Schedule a repeating timer on the clock of the region containing a location.
+     * @param location a location in the region whose blocks the timer may modify.
+     * @param action the action to run whenever the timer is due.
+     * @param delay the number of ticks before the first run. Values below 1 are treated as 1.
+     * @param period the number of ticks between runs. Values below 1 are treated as 1.
+     * @return the Timer, used to cancel it.
+     */
+    public WarClock.Timer schedule(final Location location, final Runnable action, final long delay,
+                                   final long period) {
+        WarClock.Timer[] timer = new WarClock.Timer[1];
+        // Scheduled within compute(), so reap() cannot drop the clock between it being found and it holding the timer.
+        clocks.compute(keyOf(location), (key, clock) -> {
+            WarClock held = clock != null ? clock : startClock(location);
+            timer[0] = held.schedule(action, delay, period);
+            return held;
+        });
+        return timer[0];
+    }
+
+    /**
+     * Schedule a timer running only once on the clock of the region containing a location.
+     * @param location a location in the region whose blocks the timer may modify.
+     * @param action the action to run when the timer is due.
+     * @param delay the number of ticks before the run. Values below 1 are treated as 1.
+     * @return the Timer, used to cancel it.
+     */
+    public WarClock.Timer scheduleOnce(final Location location, final Runnable action, final long delay) {
+        WarClock.Timer[] timer = new WarClock.Timer[1];
+        clocks.compute(keyOf(location), (key, clock) -> {
+            WarClock held = clock != null ? clock : startClock(location);
+            timer[0] = held.scheduleOnce(action, delay);
+            return held;
+        });
+        return timer[0];
+    }
+
+    /**
+     * Queue block changes on the clock of the region containing a location, to be applied over the following ticks.
+     * @param location a location in the region containing every Block.
+     * @param blocks the Blocks to change.
+     * @param material the Material to set each Block to.
+     */
+    public void queueBlockChanges(final Location location, final Iterable<Block> blocks, final Material material) {
+        BlockData data = DeferredBlockWrites.dataOf(material);
+        queueBlockChanges(location, blocks, index -> data);
+    }
+
+    /**
+     * Queue a change for each of several blocks on the clock of the region containing a location, to be applied over
+     * the following ticks.
+     * @param location a location in the region containing every Block.
+     * @param blocks the Blocks to change.
+     * @param dataByIndex the BlockData to set each Block to, by the Block's index in iteration order.
+     */
+    public void queueBlockChanges(final Location location, final Iterable<Block> blocks,
+                                  final IntFunction<BlockData> dataByIndex) {
+        // Queued within compute(), so reap() cannot drop the clock between it being found and it holding the changes.
+        clocks.compute(keyOf(location), (key, clock) -> {
+            WarClock held = clock != null ? clock : startClock(location);
+            held.getBlockChanges().addAll(blocks, dataByIndex);
+            return held;
+        });
+    }
+
+    /**
+     * Queue a hologram's new timer line on the clock of the region containing a location, to be pushed at the end of
+     * the next tick along with every other changed line in the region.
+     * @param location a location in the region containing the hologram.
+     * @param name the hologram's name.
+     * @param line the formatted timer line.
+     */
+    public void queueHologramLine(final Location location, final String name, final String line) {
+        clocks.compute(keyOf(location), (key, clock) -> {
+            WarClock held = clock != null ? clock : startClock(location);
+            held.getHologramLines().put(name, line);
+            return held;
+        });
+    }
+
+    /**
+     * @param location the location to pin the clock to.
+     * @return a new, started WarClock.
+     */
+    private WarClock startClock(final Location location) {
+        var clock = new WarClock(scheduler, location);
+        clock.start();
+        return clock;
+    }
+
+    /** Stop and drop every clock which no longer holds any timers, block changes or hologram lines. */
+    public void reap() {
+        for (SectionKey key : clocks.keySet()) {
+            clocks.computeIfPresent(key, (k, clock) -> {
+                if (clock.getActiveTimers() > 0 || !clock.getBlockChanges().isEmpty()
+                    || !clock.getHologramLines().isEmpty()) {
+                    return clock;
+                }
+                clock.stop();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Stop and drop every clock, applying all of their queued block changes first, on the calling thread. Only for
+     * use while the plugin is disabling, as the changes are not applied on their regions' threads.
+     */
+    public void stopAll() {
+        for (SectionKey key : clocks.keySet()) {
+            clocks.computeIfPresent(key, (k, clock) -> {
+                clock.getBlockChanges().flush();
+                clock.stop();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Check if any player is within view distance of a block, measured in chunks as the server tracks them. The
+     * players near the block's region are looked up once per tick by the region's clock, however many attacks in the
+     * region check.
+     * @param block the Block.
+     * @return TRUE if a player's client may have the Block's chunk loaded.
+     */
+    public boolean hasViewer(final Block block) {
+        World world = block.getWorld();
+        int sectionX = block.getX() >> SECTION_SHIFT;
+        int sectionZ = block.getZ() >> SECTION_SHIFT;
+        WarClock clock = clocks.get(new SectionKey(world.getName(), Cell.packKey(sectionX, sectionZ)));
+        long[] viewers = clock != null
+            ? clock.getViewerChunks(() -> snapshotViewerChunks(world, sectionX, sectionZ))
+            : snapshotViewerChunks(world, sectionX, sectionZ);
+        int viewDistance = world.getViewDistance();
+        int chunkX = block.getX() >> CHUNK_SHIFT;
+        int chunkZ = block.getZ() >> CHUNK_SHIFT;
+        for (long viewer : viewers) {
+            if (Math.abs((int) (viewer >> Integer.SIZE) - chunkX) <= viewDistance
+                && Math.abs((int) viewer - chunkZ) <= viewDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param world the World.
+     * @param sectionX the region section's x coordinate.
+     * @param sectionZ the region section's z coordinate.
+     * @return the chunk of every player in the World within view distance of any chunk of the region section, packed
+     * by {@link Cell#packKey(int, int)}.
+     */
+    private static long[] snapshotViewerChunks(final World world, final int sectionX, final int sectionZ) {
+        int viewDistance = world.getViewDistance();
+        int minX = (sectionX << SECTION_CHUNK_SHIFT) - viewDistance;
+        int maxX = ((sectionX + 1) << SECTION_CHUNK_SHIFT) - 1 + viewDistance;
+        int minZ = (sectionZ << SECTION_CHUNK_SHIFT) - viewDistance;
+        int maxZ = ((sectionZ + 1) << SECTION_CHUNK_SHIFT) - 1 + viewDistance;
+        List<Player> players = world.getPlayers();
+        long[] found = new long[players.size()];
+        var count = 0;
+        for (Player player : players) {
+            Location location = player.getLocation();
+            int chunkX = location.getBlockX() >> CHUNK_SHIFT;
+            int chunkZ = location.getBlockZ() >> CHUNK_SHIFT;
+            if (chunkX >= minX && chunkX <= maxX && chunkZ >= minZ && chunkZ <= maxZ) {
+                found[count++] = Cell.packKey(chunkX, chunkZ);
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    /** @return the number of regions with a running clock. */
+    public int size() {
+        return clocks.size();
+    }
+
+    /** @return the number of timers held across every region. */
+    public int getActiveTimers() {
+        int total = 0;
+        for (WarClock clock : clocks.values()) {
+            total += clock.getActiveTimers();
+        }
+        return total;
+    }
+
+    /**
+     * @param location the location.
+     * @return the key of the world and region section containing the location.
+     */
+    private static SectionKey keyOf(final Location location) {
+        World world = location.getWorld();
+        return new SectionKey(world != null ? world.getName() : "",
+            Cell.packKey(location.getBlockX() >> SECTION_SHIFT, location.getBlockZ() >> SECTION_SHIFT));
+    }
+
+    /**
+     * Identifies a region section.
+     * @param world the name of the section's world.
+     * @param section the section's x and z coordinates, packed by {@link Cell#packKey(int, int)}.
+     */
+    private record SectionKey(String world, long section) { }
+}
@@ -0,0 +1,62 @@
+package io.github.townyadvanced.flagwar.command;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Player;
+
+import com.palmergames.bukkit.towny.TownyCommandAddonAPI;
+import com.palmergames.bukkit.towny.TownyUniverse;
+import com.palmergames.bukkit.towny.TownyCommandAddonAPI.CommandType;
+import com.palmergames.bukkit.towny.command.BaseCommand;
+import com.palmergames.bukkit.towny.object.AddonCommand;
+import io.github.townyadvanced.flagwar.FlagWar;
+import io.github.townyadvanced.flagwar.FlagWarAPI;
+import io.github.townyadvanced.flagwar.LoadShedder;
+import io.github.townyadvanced.flagwar.WarRegionClocks;
+import io.github.townyadvanced.flagwar.i18n.Translate;
+import io.github.townyadvanced.flagwar.util.Messaging;
+import org.jetbrains.annotations.NotNull;
+
+public class TownyAdminStatusAddon extends BaseCommand implements TabExecutor {
+
+    /**
+     * Method which will register the flagwar subcommand in Towny's /ta, reporting FlagWar's load shedding status.
+     */
+    public TownyAdminStatusAddon() {
+        AddonCommand townyAdminStatusCommand = new AddonCommand(CommandType.TOWNYADMIN, "flagwar", this);
+        TownyCommandAddonAPI.addSubCommand(townyAdminStatusCommand);
+    }
+
+    /**
+     * onCommand class required by TabExecutor.
+     */
+    @Override
+    public boolean onCommand(@NotNull final CommandSender sender, @NotNull final Command command,
+                             @NotNull final String label, final String[] args) {
+        parseAdminStatusCommand(args, sender);
+        return true;
+    }
+
+    @SuppressWarnings("unused")
+    private void parseAdminStatusCommand(final String[] args, final CommandSender sender) {
+        if (sender instanceof Player player) {
+            if (!TownyUniverse.getInstance().getPermissionSource().isTownyAdmin(player)) {
+                Messaging.send(player, Translate.fromPrefixed("error.command.disabled"));
+                return;
+            }
+        }
+
+        LoadShedder shedder = FlagWar.getFlagWar().getLoadShedder();
+        WarRegionClocks regionClocks = FlagWar.getFlagWar().getRegionClocks();
+        if (shedder == null || regionClocks == null) {
+            return;
+        }
+        Messaging.send(sender, Translate.fromPrefixed("message.load.status.level",
+            shedder.getLevel(), shedder.getLastTickMillis()));
+        Messaging.send(sender, Translate.fromPrefixed("message.load.status.counts",
+            FlagWarAPI.getCellsUnderAttack().size(), shedder.getQueuedAttacks(), regionClocks.size(),
+            regionClocks.getActiveTimers()));
+    }
+
+}
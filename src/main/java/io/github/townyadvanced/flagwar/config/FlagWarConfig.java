@@ -19,6 +19,7 @@ package io.github.townyadvanced.flagwar.config;
 import com.palmergames.bukkit.util.Colors;
 import com.palmergames.util.TimeTools;
 import io.github.townyadvanced.flagwar.FlagWar;
+import io.github.townyadvanced.flagwar.LoadShedder;
 import io.github.townyadvanced.flagwar.util.Messaging;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
@@ -34,6 +35,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 /**
@@ -370,7 +372,55 @@ public final class FlagWarConfig {
      * @return The Flag Life-time, divided by the length of {@link #getTimerBlocks()}.
      */
     public static Duration getFlagPhasesDuration() {
-        return getFlagLifeTime().dividedBy(getTimerBlocks().length);
+        return getFlagLifeTime().dividedBy(TIMER_MATERIALS.length);
+    }
+
+    /**
+     * Check if flag phases should follow wall-clock deadlines rather than counted server ticks. When the server runs
+     * behind, a lag-compensated flag jumps straight to the phase it is due for, instead of stretching every phase.
+     * @return the result of "flag.lag_compensation", from the configuration file.
+     */
+    public static boolean isLagCompensated() {
+        return PLUGIN.getConfig().getBoolean("flag.lag_compensation");
+    }
+
+    /**
+     * Check if beacon repaints and hologram timer updates should be skipped for attacks no player is near enough to
+     * see. Skipped attacks catch up to their current phase in a single step once a player approaches.
+     * @return the result of "extra.viewer_culling", from the configuration file.
+     */
+    public static boolean isViewerCulling() {
+        return PLUGIN.getConfig().getBoolean("extra.viewer_culling", true);
+    }
+
+    /**
+     * Check if FlagWar should shed its own load as the server's tick times rise.
+     * @return the result of "load_shedding.enabled", from the configuration file.
+     */
+    public static boolean isLoadShedding() {
+        return PLUGIN.getConfig().getBoolean("load_shedding.enabled", true);
+    }
+
+    /**
+     * Get the average tick time at which a {@link LoadShedder.ShedLevel} begins. A missing threshold means neither the
+     * level nor any above it is ever reached.
+     * @param level the ShedLevel.
+     * @return the threshold from 'load_shedding.thresholds_mspt', in milliseconds per tick.
+     */
+    public static double getLoadSheddingThreshold(final LoadShedder.ShedLevel level) {
+        if (level == LoadShedder.ShedLevel.NORMAL) {
+            return 0;
+        }
+        return PLUGIN.getConfig().getDouble("load_shedding.thresholds_mspt." + level.getConfigKey(),
+            Double.MAX_VALUE);
+    }
+
+    /**
+     * Get how far below a level's threshold tick times must fall before stepping down from that level.
+     * @return the margin from 'load_shedding.recovery_margin_mspt', in milliseconds per tick.
+     */
+    public static double getLoadSheddingRecoveryMargin() {
+        return PLUGIN.getConfig().getDouble("load_shedding.recovery_margin_mspt", 0);
     }
 
     /**
@@ -441,6 +491,34 @@ public final class FlagWarConfig {
         return PLUGIN.getConfig().getBoolean("rules.prevent_interaction_while_flagged.nation");
     }
 
+    /**
+     * Get the time each region may spend per tick applying queued beacon block changes. Changes beyond the budget are
+     * carried over to the following ticks. If missing or below 1, 500 microseconds is the assumed default.
+     * @return the budget from 'beacon.block_change_budget_micros', as a Duration.
+     */
+    public static Duration getBlockChangeBudget() {
+        final long defValue = 500;
+        long micros = PLUGIN.getConfig().getLong("beacon.block_change_budget_micros", defValue);
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(micros > 0 ? micros : defValue));
+    }
+
+    /**
+     * Check if beacons should only be sent to nearby players, as fake blocks, instead of being placed in the world.
+     * @return the result of "beacon.virtual", from the configuration file.
+     */
+    public static boolean isVirtualBeacon() {
+        return PLUGIN.getConfig().getBoolean("beacon.virtual", false);
+    }
+
+    /**
+     * Check if beacons should replace any block in their way, rather than only empty ones. Replaced blocks are put
+     * back, without any tile entity data, when the flag is removed.
+     * @return the result of "beacon.draw_through_blocks", from the configuration file.
+     */
+    public static boolean isBeaconDrawnThroughBlocks() {
+        return PLUGIN.getConfig().getBoolean("beacon.draw_through_blocks", false);
+    }
+
     /** @return the value of 'beacon.height_above_flag.max'. */
     public static int getBeaconMaxHeightAboveFlag() {
         return PLUGIN.getConfig().getInt("beacon.height_above_flag.max");
@@ -29,15 +29,17 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockBurnEvent;
 import org.bukkit.event.block.BlockPistonExtendEvent;
 import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 
 import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.event.actions.TownyBuildEvent;
 import com.palmergames.bukkit.towny.exceptions.TownyException;
-import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.object.PlayerCache.TownBlockStatus;
 import io.github.townyadvanced.flagwar.FlagWar;
 import io.github.townyadvanced.flagwar.config.FlagWarConfig;
+import io.github.townyadvanced.flagwar.objects.CellCodec;
+import io.github.townyadvanced.flagwar.util.DeferredBlockWrites;
 
 /**
  * Listens for interactions with Blocks, then runs a check if qualified.
@@ -58,6 +60,22 @@ public class FlagWarBlockListener implements Listener {
         }
     }
 
+    /**
+     * Bring any war flag or beacon blocks in a newly loaded chunk up to their attack's current state, by applying the
+     * writes {@link DeferredBlockWrites} held while the chunk was unloaded, and begin any attack waiting for it.
+     *
+     * @param chunkLoadEvent the {@link ChunkLoadEvent}.
+     */
+    @EventHandler (priority = EventPriority.MONITOR)
+    @SuppressWarnings("unused")
+    public void onChunkLoad(final ChunkLoadEvent chunkLoadEvent) {
+        if (DeferredBlockWrites.isEmpty()) {
+            return;
+        }
+        var chunk = chunkLoadEvent.getChunk();
+        DeferredBlockWrites.applyChunk(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
     /**
      * Check if the {@link Player} from {@link TownyBuildEvent#getPlayer()} is attempting to build inside enemy lands,
      * and if so, {@link #tryCallCellAttack(TownyActionEvent, Player, Block, WorldCoord)}.
@@ -80,7 +98,8 @@ public class FlagWarBlockListener implements Listener {
 
             var player = townyBuildEvent.getPlayer();
             var block = player.getWorld().getBlockAt(townyBuildEvent.getLocation());
-            var worldCoord = new WorldCoord(block.getWorld().getName(), Coord.parseCoord(block));
+            var worldCoord = new WorldCoord(block.getWorld().getName(),
+                CellCodec.toCell(block.getX()), CellCodec.toCell(block.getZ()));
 
             if (towny.getCache(player).getStatus().equals(TownBlockStatus.ENEMY)) {
                 tryCallCellAttack(townyBuildEvent, player, block, worldCoord);
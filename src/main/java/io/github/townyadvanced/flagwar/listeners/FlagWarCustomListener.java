@@ -20,6 +20,9 @@ import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.TownyEconomyHandler;
 import com.palmergames.bukkit.towny.TownyMessaging;
 import com.palmergames.bukkit.towny.TownyUniverse;
+import com.palmergames.bukkit.towny.event.DeleteNationEvent;
+import com.palmergames.bukkit.towny.event.NationAddTownEvent;
+import com.palmergames.bukkit.towny.event.NationRemoveTownEvent;
 import com.palmergames.bukkit.towny.event.economy.NationPreTransactionEvent;
 import com.palmergames.bukkit.towny.event.economy.TownPreTransactionEvent;
 import com.palmergames.bukkit.towny.event.nation.NationPreTownLeaveEvent;
@@ -50,8 +53,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -121,7 +122,11 @@ public class FlagWarCustomListener implements Listener {
 
         tryTownFlagged(cell);
         updateTownyCache(cell);
-        towny.getServer().broadcastMessage(broadcast);
+        if (FlagWar.getFlagWar().getLoadShedder().allowsBroadcasts()) {
+            towny.getServer().broadcastMessage(broadcast);
+        } else {
+            FlagWar.sendAttackMessage(broadcast, getDefendingTown(cell), getAttackingTown(cell));
+        }
 
         calculateDefenderReward(player, cell);
     }
@@ -142,7 +147,7 @@ public class FlagWarCustomListener implements Listener {
         var cell = cellWonEvent.getCellUnderAttack();
 
         try {
-            var attackingResident = universe.getResident(cell.getNameOfFlagOwner());
+            var attackingResident = universe.getResident(cell.getFlagOwnerUUID());
 
             // Shouldn't happen
             if (attackingResident == null) {
@@ -273,16 +278,48 @@ public class FlagWarCustomListener implements Listener {
             && FlagWarConfig.isFlaggedInteractionNation()
             && nationPreTransactionEvent.getTransaction().getType().equals(TransactionType.WITHDRAW)) {
 
-            for (Town town : nationPreTransactionEvent.getNation().getTowns()) {
-                if (FlagWarAPI.isUnderAttack(town) || isAfterFlaggedCooldownActive(town)) {
-                    nationPreTransactionEvent.setCancelMessage(Translate.fromPrefixed("error.nation-under-attack"));
-                    nationPreTransactionEvent.setCancelled(true);
-                    return;
-                }
+            var nation = nationPreTransactionEvent.getNation();
+            if (FlagWarAPI.isUnderAttack(nation)
+                || FlagWarAPI.isFlaggedCooldownActive(nation)) {
+                nationPreTransactionEvent.setCancelMessage(Translate.fromPrefixed("error.nation-under-attack"));
+                nationPreTransactionEvent.setCancelled(true);
             }
         }
     }
 
+    /**
+     * Keeps FlagWar's per-{@link Nation} attack rollups current when a {@link Town} joins a Nation.
+     *
+     * @param nationAddTownEvent Event fired by {@link Towny} after a Town has joined a Nation.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    @SuppressWarnings("unused")
+    public void onNationAddTown(final NationAddTownEvent nationAddTownEvent) {
+        FlagWar.townJoinedNation(nationAddTownEvent.getTown(), nationAddTownEvent.getNation());
+    }
+
+    /**
+     * Keeps FlagWar's per-{@link Nation} attack rollups current when a {@link Town} leaves a Nation.
+     *
+     * @param nationRemoveTownEvent Event fired by {@link Towny} after a Town has left a Nation.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    @SuppressWarnings("unused")
+    public void onNationRemoveTown(final NationRemoveTownEvent nationRemoveTownEvent) {
+        FlagWar.townLeftNation(nationRemoveTownEvent.getTown(), nationRemoveTownEvent.getNation());
+    }
+
+    /**
+     * Drops FlagWar's per-{@link Nation} attack rollups when a Nation is deleted.
+     *
+     * @param deleteNationEvent Event fired by {@link Towny} after a Nation has been deleted.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    @SuppressWarnings("unused")
+    public void onNationDelete(final DeleteNationEvent deleteNationEvent) {
+        FlagWar.nationDeleted(deleteNationEvent.getNationUUID());
+    }
+
     /**
      * Similar to {@link #onNationWithdraw}, prevents a {@link Town}'s
      * {@link com.palmergames.bukkit.towny.object.EconomyAccount} from being looted by its own players if the post-flag
@@ -341,7 +378,7 @@ public class FlagWarCustomListener implements Listener {
                 nationToggleNeutralEvent.setCancelMessage(Translate.fromPrefixed("error.cannot-toggle-peaceful"));
             } else if (nationToggleNeutralEvent.getFutureState() && !FlagWarAPI.getCellsUnderAttack().isEmpty()) {
                 for (Resident resident : nationToggleNeutralEvent.getNation().getResidents()) {
-                    FlagWar.removeAttackerFlags(resident.getName());
+                    FlagWar.removeAttackerFlags(resident.getUUID());
                 }
             }
         }
@@ -446,7 +483,16 @@ public class FlagWarCustomListener implements Listener {
         } else {
             msg = Translate.fromPrefixed("broadcast.area.won", resName, natName, cell.getCellString());
         }
-        TownyMessaging.sendGlobalMessage(msg);
+        FlagWar.sendAttackMessage(msg, atkRes.getTownOrNull(), getDefendingTown(cell));
+    }
+
+    private Town getDefendingTown(final CellUnderAttack cell) {
+        return cell.getDefendingTownUUID() == null ? null : universe.getTown(cell.getDefendingTownUUID());
+    }
+
+    private Town getAttackingTown(final CellUnderAttack cell) {
+        var resident = universe.getResident(cell.getFlagOwnerUUID());
+        return resident == null ? null : resident.getTownOrNull();
     }
 
     private double realEstateValue(final String reasonType) {
@@ -499,12 +545,7 @@ public class FlagWarCustomListener implements Listener {
      * @return TRUE if the cooldown is still active.
      */
     private boolean isAfterFlaggedCooldownActive(final Town town) {
-        Instant lastFlagged = FlagWarAPI.getFlaggedInstant(town);
-        if (lastFlagged == Instant.MAX) {
-            return false;
-        }
-        Duration timeToWait = FlagWarConfig.getFlaggedInteractCooldown();
-        return Instant.now().isBefore(lastFlagged.plus(timeToWait));
+        return FlagWarAPI.isFlaggedCooldownActive(town);
     }
 
     /**
@@ -527,7 +568,7 @@ public class FlagWarCustomListener implements Listener {
      */
     private void calculateDefenderReward(final Player dP, final CellUnderAttack cell) {
         if (TownyEconomyHandler.isActive()) {
-                var attackingPlayer = universe.getResident(cell.getNameOfFlagOwner());
+                var attackingPlayer = universe.getResident(cell.getFlagOwnerUUID());
                 Resident defendingPlayer = null;
 
                 if (dP != null) {
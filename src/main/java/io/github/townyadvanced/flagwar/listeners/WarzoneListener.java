@@ -28,6 +28,7 @@ import com.palmergames.bukkit.towny.event.actions.TownyItemuseEvent;
 import com.palmergames.bukkit.towny.event.actions.TownySwitchEvent;
 import com.palmergames.bukkit.towny.event.damage.TownBlockPVPTestEvent;
 import com.palmergames.bukkit.towny.event.damage.TownyExplosionDamagesEntityEvent;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.PlayerCache.TownBlockStatus;
 import io.github.townyadvanced.flagwar.FlagWarAPI;
 import io.github.townyadvanced.flagwar.config.FlagWarConfig;
@@ -37,6 +38,7 @@ import io.github.townyadvanced.flagwar.objects.CellUnderAttack;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -65,6 +67,9 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onDestroy(final TownyDestroyEvent townyDestroyEvent) {
+        if (isFarFromWar(townyDestroyEvent.getLocation())) {
+            return;
+        }
         var player = townyDestroyEvent.getPlayer();
         TownBlockStatus status = towny.getCache(player).getStatus();
         var mat = townyDestroyEvent.getMaterial();
@@ -89,6 +94,9 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onBuild(final TownyBuildEvent townyBuildEvent) {
+        if (isFarFromWar(townyBuildEvent.getLocation())) {
+            return;
+        }
         var player = townyBuildEvent.getPlayer();
         var mat = townyBuildEvent.getMaterial();
         TownBlockStatus status = towny.getCache(player).getStatus();
@@ -113,6 +121,9 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onItemUse(final TownyItemuseEvent townyItemuseEvent) {
+        if (isFarFromWar(townyItemuseEvent.getLocation())) {
+            return;
+        }
         var player = townyItemuseEvent.getPlayer();
         TownBlockStatus status = towny.getCache(player).getStatus();
 
@@ -136,6 +147,9 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onSwitchUse(final TownySwitchEvent townySwitchEvent) {
+        if (isFarFromWar(townySwitchEvent.getLocation())) {
+            return;
+        }
         var player = townySwitchEvent.getPlayer();
         TownBlockStatus status = towny.getCache(player).getStatus();
 
@@ -159,10 +173,11 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onBurn(final TownyBurnEvent townyBurnEvent) {
-        if (!FlagWarConfig.isAllowingAttacks()
+        if (isFarFromWar(townyBurnEvent.getLocation())
+        || !FlagWarConfig.isAllowingAttacks()
         || townyBurnEvent.isInWilderness()
         || !FlagWarConfig.isAllowingFireInWarZone()
-        || !Cell.parse(townyBurnEvent.getLocation()).isUnderAttack()) {
+        || !isUnderAttack(townyBurnEvent.getLocation())) {
             return;
         }
         townyBurnEvent.setCancelled(false);
@@ -177,10 +192,11 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onExplosionDamagingEntity(final TownyExplosionDamagesEntityEvent townyExplosionDamagesEntityEvent) {
-        if (!FlagWarConfig.isAllowingAttacks()
+        if (isFarFromWar(townyExplosionDamagesEntityEvent.getLocation())
+        || !FlagWarConfig.isAllowingAttacks()
         || townyExplosionDamagesEntityEvent.isInWilderness()
         || !FlagWarConfig.isAllowingExplosionsInWarZone()
-        || !Cell.parse(townyExplosionDamagesEntityEvent.getLocation()).isUnderAttack()) {
+        || !isUnderAttack(townyExplosionDamagesEntityEvent.getLocation())) {
             return;
         }
         townyExplosionDamagesEntityEvent.setCancelled(false);
@@ -201,9 +217,10 @@ public class WarzoneListener implements Listener {
         }
         List<Block> toAllow = new ArrayList<>();
         for (Block block : event.getVanillaBlockList()) {
-            // Wilderness or not located inside a Cell which is under attack, skip it.
-            if (TownyAPI.getInstance().isWilderness(block)
-            || !Cell.parse(block.getLocation()).isUnderAttack()) {
+            // Far from any war, wilderness, or not located inside a Cell which is under attack, skip it.
+            if (!FlagWarAPI.mightBeUnderAttack(block.getWorld(), block.getX(), block.getZ())
+            || TownyAPI.getInstance().isWilderness(block)
+            || !FlagWarAPI.isUnderAttack(block.getWorld(), block.getX(), block.getZ())) {
                 continue;
             }
             // This is an allowed explosion, so add it to our War-allowed list.
@@ -226,8 +243,12 @@ public class WarzoneListener implements Listener {
      */
     @EventHandler
     public void onTownBlockPVPTestEvent(final TownBlockPVPTestEvent townBlockPVPTestEvent) {
-        if (!FlagWarConfig.isAllowingAttacks()
-        || !Cell.parse(townBlockPVPTestEvent.getTownBlock().getWorldCoord()).isUnderAttack()) {
+        var townBlock = townBlockPVPTestEvent.getTownBlock();
+        int cellSize = Coord.getCellSize();
+        if (!FlagWarAPI.mightBeUnderAttack(townBlock.getWorld().getName(),
+            townBlock.getX() * cellSize, townBlock.getZ() * cellSize)
+        || !FlagWarConfig.isAllowingAttacks()
+        || !FlagWarAPI.isCellUnderAttack(townBlock.getWorld().getName(), townBlock.getX(), townBlock.getZ())) {
             return;
         }
         townBlockPVPTestEvent.setPvp(true);
@@ -250,7 +271,30 @@ public class WarzoneListener implements Listener {
         return !townBlockStatus.equals(TownBlockStatus.ENEMY)
             || !FlagWarConfig.isAllowingAttacks()
             || townyActionEvent.isInWilderness()
-            || !FlagWarAPI.isUnderAttack(Cell.parse(townyActionEvent.getLocation()));
+            || !isUnderAttack(townyActionEvent.getLocation());
+    }
+
+    /**
+     * Fast negative check against FlagWar's chunk filter, letting events far from any war return before any other
+     * work is done.
+     *
+     * @param location the Location of the event.
+     * @return True if no {@link CellUnderAttack} overlaps the Location's chunk.
+     */
+    private boolean isFarFromWar(final Location location) {
+        var world = location.getWorld();
+        return world == null || !FlagWarAPI.mightBeUnderAttack(world, location.getBlockX(), location.getBlockZ());
+    }
+
+    /**
+     * Check if the {@link Cell} containing a {@link Location} is under attack, without allocating a Cell.
+     *
+     * @param location the Location to check.
+     * @return True if the containing Cell is under attack.
+     */
+    private boolean isUnderAttack(final Location location) {
+        var world = location.getWorld();
+        return world != null && FlagWarAPI.isUnderAttack(world, location.getBlockX(), location.getBlockZ());
     }
 
     /**
@@ -265,7 +309,8 @@ public class WarzoneListener implements Listener {
         }
 
         Location blockLoc = townyActionEvent.getLocation();
-        CellUnderAttack cellData = FlagWarAPI.getAttackData(Cell.parse(blockLoc));
+        CellUnderAttack cellData = FlagWarAPI.getAttackData(Objects.requireNonNull(blockLoc.getWorld()),
+            blockLoc.getBlockX(), blockLoc.getBlockZ());
         Location flagLoc = cellData.getFlagBaseBlock().getLocation();
         // We don't care if the flag is above the block being placed, or if the block is too high above the flag.
         if (blockLoc.getY() < flagLoc.getY()
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import io.github.townyadvanced.flagwar.util.Messaging;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of beacon block positions, held as positions packed by {@link FlagBlockIndex#pack(int, int, int)}
+ * in a single long array.
+ * <p>
+ * An attack keeps its beacon for the whole war, so rather than holding a {@link Block} handle for every position,
+ * handles are only created while iterating, when the blocks are written.
+ */
+public final class BeaconBlocks implements Iterable<Block> {
+
+    /** Shared empty array, for beacons which are not drawn. */
+    private static final long[] NO_POSITIONS = new long[0];
+
+    /** The World the positions are in. */
+    private final World world;
+    /** The packed positions. */
+    private final long[] positions;
+
+    /**
+     * @param blocksWorld the World the positions are in.
+     * @param packedPositions the packed positions, owned by the new instance.
+     */
+    private BeaconBlocks(final World blocksWorld, final long[] packedPositions) {
+        this.world = blocksWorld;
+        this.positions = packedPositions;
+    }
+
+    /**
+     * @param world the World.
+     * @return an empty set of beacon blocks in the World.
+     */
+    public static BeaconBlocks empty(final World world) {
+        return new BeaconBlocks(world, NO_POSITIONS);
+    }
+
+    /**
+     * Collect the empty blocks found at a set of offsets from an origin.
+     * @param origin the Block the offsets are relative to.
+     * @param offsets the offsets, packed as x, y, z triples as in {@link BeaconTemplate}.
+     * @return the positions of the empty Blocks, in the order of their offsets.
+     */
+    public static BeaconBlocks ofEmpty(final Block origin, final int[] offsets) {
+        return collect(origin, offsets, true);
+    }
+
+    /**
+     * Collect the blocks at a set of offsets from an origin, whatever they hold, without reading them.
+     * @param origin the Block the offsets are relative to.
+     * @param offsets the offsets, packed as x, y, z triples as in {@link BeaconTemplate}.
+     * @return the positions of every offset, in order.
+     */
+    public static BeaconBlocks of(final Block origin, final int[] offsets) {
+        return collect(origin, offsets, false);
+    }
+
+    /**
+     * @param origin the Block the offsets are relative to.
+     * @param offsets the offsets, packed as x, y, z triples as in {@link BeaconTemplate}.
+     * @param emptyOnly if TRUE, only empty Blocks are collected.
+     * @return the collected positions, in the order of their offsets.
+     */
+    private static BeaconBlocks collect(final Block origin, final int[] offsets, final boolean emptyOnly) {
+        World world = origin.getWorld();
+        long[] found = new long[offsets.length / BeaconTemplate.STRIDE];
+        var count = 0;
+        for (var i = 0; i < offsets.length; i += BeaconTemplate.STRIDE) {
+            int x = origin.getX() + offsets[i];
+            int y = origin.getY() + offsets[i + 1];
+            int z = origin.getZ() + offsets[i + 2];
+            if (!emptyOnly || world.getBlockAt(x, y, z).isEmpty()) {
+                Messaging.debug("(Beacon) Spawning at %d, %d, %d", offsets[i], offsets[i + 1], offsets[i + 2]);
+                found[count++] = FlagBlockIndex.pack(x, y, z);
+            }
+        }
+        return new BeaconBlocks(world, count == found.length ? found : Arrays.copyOf(found, count));
+    }
+
+    /** @return the World the positions are in. */
+    public World getWorld() {
+        return world;
+    }
+
+    /** @return the number of positions. */
+    public int size() {
+        return positions.length;
+    }
+
+    /** @return TRUE if there are no positions. */
+    public boolean isEmpty() {
+        return positions.length == 0;
+    }
+
+    /**
+     * @param index the index of a position, from 0 to {@link #size()} exclusive.
+     * @return the packed position.
+     */
+    public long getPosition(final int index) {
+        return positions[index];
+    }
+
+    /**
+     * @param index the index of a position, from 0 to {@link #size()} exclusive.
+     * @return a new handle to the Block at the position.
+     */
+    public Block getBlock(final int index) {
+        long packed = positions[index];
+        return world.getBlockAt(FlagBlockIndex.unpackX(packed), FlagBlockIndex.unpackY(packed),
+            FlagBlockIndex.unpackZ(packed));
+    }
+
+    /** @return an Iterator creating a handle to each Block, in order, as it is reached. */
+    @Override
+    public Iterator<Block> iterator() {
+        return new Iterator<>() {
+            /** Index of the next position. */
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < positions.length;
+            }
+
+            @Override
+            public Block next() {
+                if (next >= positions.length) {
+                    throw new NoSuchElementException();
+                }
+                return getBlock(next++);
+            }
+        };
+    }
+}
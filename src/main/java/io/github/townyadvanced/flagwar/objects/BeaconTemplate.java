@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import com.palmergames.bukkit.towny.object.Coord;
+import io.github.townyadvanced.flagwar.config.FlagWarConfig;
+
+import java.util.Arrays;
+
+/**
+ * The shape of a war beacon, precomputed once per beacon size and {@link Coord#getCellSize()}.
+ * <p>
+ * A beacon is a hollow cube: blocks on exactly one face form its body, showing the flag's timer, while blocks on two
+ * or more faces form its wireframe. Both are held as offsets from the beacon's minimum corner, packed as consecutive
+ * x, y, z triples, so drawing a beacon only needs its origin. The template is rebuilt by {@link #reload()} when the
+ * configuration is reloaded, or if Towny's cell size no longer matches.
+ */
+public final class BeaconTemplate {
+
+    /** Number of ints used by each packed offset. */
+    public static final int STRIDE = 3;
+
+    /** The current template, or null before the first {@link #get()} or {@link #reload()}. */
+    private static volatile BeaconTemplate current;
+
+    /** The beacon's edge length, in blocks. */
+    private final int size;
+    /** The cell size the template was built for. */
+    private final int cellSize;
+    /** Offset of the beacon's minimum corner from the Cell's minimum corner, along both x and z. */
+    private final int cornerOffset;
+    /** Packed offsets of the body blocks. */
+    private final int[] body;
+    /** Packed offsets of the wireframe blocks. */
+    private final int[] wireframe;
+
+    /**
+     * Builds a template.
+     * @param beaconSize the beacon's edge length, in blocks.
+     * @param beaconRadius the beacon's radius, in blocks.
+     * @param cellBlocks the cell size, in blocks.
+     */
+    private BeaconTemplate(final int beaconSize, final int beaconRadius, final int cellBlocks) {
+        this.size = beaconSize;
+        this.cellSize = cellBlocks;
+        this.cornerOffset = cellBlocks / 2 - (beaconRadius - 1);
+        if (beaconSize < 1 || cellBlocks < beaconSize) {
+            this.body = new int[0];
+            this.wireframe = new int[0];
+            return;
+        }
+        int[] bodyOffsets = new int[beaconSize * beaconSize * beaconSize * STRIDE];
+        int[] frameOffsets = new int[bodyOffsets.length];
+        int bodyLength = 0;
+        int frameLength = 0;
+        int outerEdge = beaconSize - 1;
+        for (var y = 0; y < beaconSize; y++) {
+            for (var z = 0; z < beaconSize; z++) {
+                for (var x = 0; x < beaconSize; x++) {
+                    int edgeCount = getEdgeCount(x, y, z, outerEdge);
+                    if (edgeCount > 1) {
+                        frameLength = put(frameOffsets, frameLength, x, y, z);
+                    } else if (edgeCount == 1) {
+                        bodyLength = put(bodyOffsets, bodyLength, x, y, z);
+                    }
+                }
+            }
+        }
+        this.body = Arrays.copyOf(bodyOffsets, bodyLength);
+        this.wireframe = Arrays.copyOf(frameOffsets, frameLength);
+    }
+
+    /**
+     * Get the template for the configured beacon size and the current cell size, building it if needed.
+     * @return the current BeaconTemplate.
+     */
+    public static BeaconTemplate get() {
+        BeaconTemplate template = current;
+        if (template == null || template.cellSize != Coord.getCellSize()) {
+            template = reload();
+        }
+        return template;
+    }
+
+    /**
+     * Rebuild the template from the configuration and the current cell size.
+     * @return the new BeaconTemplate.
+     */
+    public static BeaconTemplate reload() {
+        var template = new BeaconTemplate(FlagWarConfig.getBeaconSize(), FlagWarConfig.getBeaconRadius(),
+            Coord.getCellSize());
+        current = template;
+        return template;
+    }
+
+    private static int put(final int[] offsets, final int length, final int x, final int y, final int z) {
+        offsets[length] = x;
+        offsets[length + 1] = y;
+        offsets[length + 2] = z;
+        return length + STRIDE;
+    }
+
+    private static int getEdgeCount(final int x, final int y, final int z, final int outerEdge) {
+        return (zeroOrEq(x, outerEdge) ? 1 : 0) + (zeroOrEq(y, outerEdge) ? 1 : 0) + (zeroOrEq(z, outerEdge) ? 1 : 0);
+    }
+
+    /**
+     * Simple Boolean to determine if an integer (a) is 0, or matches the secondary integer (b).
+     * @param a the number being evaluated.
+     * @param b the number being compared against.
+     * @return TRUE if n is either 0 or equal to max.
+     */
+    private static boolean zeroOrEq(final int a, final int b) {
+        return a == 0 || a == b;
+    }
+
+    /** @return TRUE if the beacon fits within a Cell, and so can be drawn. */
+    public boolean fitsCell() {
+        return size >= 1 && cellSize >= size;
+    }
+
+    /** @return the beacon's edge length, in blocks. */
+    public int getSize() {
+        return size;
+    }
+
+    /** @return the offset of the beacon's minimum corner from the Cell's minimum corner, along both x and z. */
+    public int getCornerOffset() {
+        return cornerOffset;
+    }
+
+    /** @return the packed offsets of the body blocks. Must not be modified. */
+    public int[] getBodyOffsets() {
+        return body;
+    }
+
+    /** @return the packed offsets of the wireframe blocks. Must not be modified. */
+    public int[] getWireframeOffsets() {
+        return wireframe;
+    }
+}
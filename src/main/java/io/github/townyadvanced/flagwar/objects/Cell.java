@@ -38,6 +38,10 @@ public class Cell {
     private static final int HASH_BASE = 17;
     /** Holds the multiplier value for calculating the Cell's {@link #hashCode()}. */
     private static final int HASH_MULTIPLIER = 27;
+    /** Holds the shift placing the x coordinate in the upper half of a packed key. */
+    private static final int KEY_SHIFT = 32;
+    /** Holds the mask keeping the z coordinate in the lower half of a packed key. */
+    private static final long KEY_MASK = 0xFFFFFFFFL;
 
     /**
      * Constructs the {@link Cell} for a given WorldName, and x/z coordinates.
@@ -83,6 +87,21 @@ public class Cell {
         return zVal;
     }
 
+    /** @return the {@link #xVal} and {@link #zVal} of the {@link Cell}, packed by {@link #packKey(int, int)}. */
+    public long getKey() {
+        return packKey(xVal, zVal);
+    }
+
+    /**
+     * Pack a pair of Cell coordinates into a single long, with x in the upper and z in the lower 32 bits.
+     * @param cellX the Cell's x coordinate.
+     * @param cellZ the Cell's z coordinate.
+     * @return the packed key.
+     */
+    public static long packKey(final int cellX, final int cellZ) {
+        return ((long) cellX << KEY_SHIFT) | (cellZ & KEY_MASK);
+    }
+
     /** @return the {@link #cellsWorldName} value of the {@link Cell}. */
     public String getWorldName() {
         return cellsWorldName;
@@ -94,15 +113,10 @@ public class Cell {
      * @param x the base x value of the cell.
      * @param z the base z value of the cell.
      * @return a new Cell for the given world name, with x and z values adjusted for the appropriate Cell Size
-     * ({@link Coord#getCellSize}).
+     * ({@link Coord#getCellSize}) by {@link CellCodec#toCell(int)}.
      */
     public static Cell parse(final String worldName, final int x, final int z) {
-        int cellSize = Coord.getCellSize();
-        int xResult = x / cellSize;
-        int zResult = z / cellSize;
-        boolean xNeedFix = x % cellSize != 0;
-        boolean zNeedFix = z % cellSize != 0;
-        return new Cell(worldName, xResult - (x < 0 && xNeedFix ? 1 : 0), zResult - (z < 0 && zNeedFix ? 1 : 0));
+        return new Cell(worldName, CellCodec.toCell(x), CellCodec.toCell(z));
     }
 
     /**
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import com.palmergames.bukkit.towny.object.Coord;
+
+/**
+ * Allocation-free conversions from block coordinates to {@link Cell} coordinates and packed Cell keys.
+ * <p>
+ * Produces the same results as {@link Cell#parse(String, int, int)}, without constructing a Cell. When
+ * {@link Coord#getCellSize()} is a power of two (Towny's default of 16 included), the conversion is a single
+ * arithmetic shift; otherwise it falls back to {@link Math#floorDiv(int, int)}.
+ */
+public final class CellCodec {
+
+    private CellCodec() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Convert a block coordinate to the matching Cell coordinate, rounding towards negative infinity.
+     * @param block the block's x or z coordinate.
+     * @return the Cell's x or z coordinate.
+     */
+    public static int toCell(final int block) {
+        int cellSize = Coord.getCellSize();
+        if ((cellSize & (cellSize - 1)) == 0) {
+            return block >> Integer.numberOfTrailingZeros(cellSize);
+        }
+        return Math.floorDiv(block, cellSize);
+    }
+
+    /**
+     * Convert a block column to the packed key of the Cell containing it.
+     * @param blockX the block's x coordinate.
+     * @param blockZ the block's z coordinate.
+     * @return the containing Cell's key, as produced by {@link Cell#packKey(int, int)}.
+     */
+    public static long toKey(final int blockX, final int blockZ) {
+        return Cell.packKey(toCell(blockX), toCell(blockZ));
+    }
+}
@@ -17,27 +17,40 @@
 
 package io.github.townyadvanced.flagwar.objects;
 
+import io.github.townyadvanced.flagwar.util.DeferredBlockWrites;
+import io.github.townyadvanced.flagwar.util.FormatUtil;
 import io.github.townyadvanced.flagwar.util.HologramUtil;
+import com.palmergames.bukkit.towny.TownyAPI;
+import com.palmergames.bukkit.towny.TownyUniverse;
 import com.palmergames.bukkit.towny.object.Coord;
-import com.palmergames.bukkit.towny.scheduling.ScheduledTask;
-import com.palmergames.bukkit.towny.scheduling.TaskScheduler;
+import com.palmergames.bukkit.towny.object.Town;
 
 import io.github.townyadvanced.flagwar.CellAttackThread;
 import io.github.townyadvanced.flagwar.FlagWar;
 import io.github.townyadvanced.flagwar.HologramUpdateThread;
+import io.github.townyadvanced.flagwar.LoadShedder;
+import io.github.townyadvanced.flagwar.WarClock;
+import io.github.townyadvanced.flagwar.WarRegionClocks;
 import io.github.townyadvanced.flagwar.config.FlagWarConfig;
 import io.github.townyadvanced.flagwar.i18n.Translate;
 import io.github.townyadvanced.flagwar.util.Messaging;
+import io.github.townyadvanced.flagwar.util.PalettedBlockData;
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,11 +61,23 @@ public class CellUnderAttack extends Cell {
 
     /** Holds an instance of FlagWar's logger. */
     private static final Logger LOGGER = FlagWar.getInstance().getLogger();
-    /** The TaskScheduler used to schedule attacks and holograms. */
-    private final TaskScheduler scheduler = FlagWar.getFlagWar().getScheduler();
+    /** Bits shifted from a block coordinate to get its chunk coordinate. */
+    private static final int CHUNK_SHIFT = 4;
+    /** Ticks between checks for an approaching viewer, while the beacon is behind the flag's phase or virtual. */
+    private static final long VIEWER_CHECK_TICKS = 20;
+    /** Teardowns of resolved attacks, waiting for their region's {@link WarClock}; run at once if disabled first. */
+    private static final Set<Runnable> PENDING_TEARDOWNS = ConcurrentHashMap.newKeySet();
+    /** The region-pinned {@link WarClock}s used to time attacks and holograms, next to the blocks they modify. */
+    private final WarRegionClocks clocks = FlagWar.getFlagWar().getRegionClocks();
+    /** The {@link LoadShedder} deciding which cosmetic updates may run. */
+    private final LoadShedder shedder = FlagWar.getFlagWar().getLoadShedder();
 
     /** Holds the name of the war flag owner. */
     private final String nameOfFlagOwner;
+    /** Holds the UUID of the war flag owner. Unlike the name, this survives renames. */
+    private final UUID flagOwnerUUID;
+    /** Holds the UUID of the {@link Town} owning the flagged plot, resolved once when the flag is placed. */
+    private final UUID defendingTownUUID;
     /** Holds the {@link Block} used as the base of the war flag. */
     private final Block flagBaseBlock;
     /** Holds the {@link Block} representing middle of the traditional war flag. */
@@ -61,45 +86,109 @@ public class CellUnderAttack extends Cell {
     private final Block flagLightBlock;
     /** Holds the value between timer phases for both the war flag and the beacon. */
     private final Duration flagPhaseDuration;
-    /** {@link List} of {@link Block}s used in the war beacon's body. */
-    private List<Block> beaconFlagBlocks;
-    /** {@link List} of {@link Block}s used for the war beacon's wireframe. */
-    private List<Block> beaconWireframeBlocks;
+    /** {@link BeaconBlocks} used in the war beacon's body. */
+    private BeaconBlocks beaconFlagBlocks;
+    /** {@link BeaconBlocks} used for the war beacon's wireframe. */
+    private BeaconBlocks beaconWireframeBlocks;
+    /** The beacon sent to nearby clients in place of the world's blocks, or null if drawn in the world. */
+    private VirtualBeacon virtualBeacon;
+    /** The original blocks of the flag's timer and light, or null until the flag is drawn. */
+    private PalettedBlockData flagColumnSnapshot;
+    /** The original blocks of the {@link #beaconFlagBlocks}, or null if not drawn in the world. */
+    private PalettedBlockData beaconBodySnapshot;
+    /** The original blocks of the {@link #beaconWireframeBlocks}, or null if not drawn in the world. */
+    private PalettedBlockData beaconWireframeSnapshot;
     /** Identifies the phase the war flag is in. **/
     private int flagPhaseID;
     /** A thread used to update the state of the {@link CellUnderAttack} using the Scheduler's repeating task.*/
     private final CellAttackThread thread;
-    /** A task used to the thread used to cancel the repeating task.*/
-    private ScheduledTask threadTask;
+    /** The WarClock timer running the thread, used to cancel it. Replaced after every phase when lag-compensated.*/
+    private volatile WarClock.Timer threadTask;
+    /** If TRUE, phases follow wall-clock deadlines, as set by {@link FlagWarConfig#isLagCompensated()}. */
+    private final boolean lagCompensated;
+    /** The {@link System#nanoTime()} when the attack began, from which every phase deadline is measured. */
+    private long attackStartNanos;
     /** A thread used to update a Hologram's timer. */
     private final HologramUpdateThread hologramThread;
-    /** A task used by the hologramThread, to cancel the repeating task.*/
-    private ScheduledTask hologramTask;
+    /** The WarClock timer running the hologramThread, used to cancel it.*/
+    private volatile WarClock.Timer hologramTask;
+    /** The war flag's whole lifetime, read from the configuration once, when the attack is prepared. */
+    private final Duration totalLifeTime;
     /** Holds the time, in seconds, assuming 20 ticks is 1 second, of the war flag. */
     private Duration flagLifeTime;
+    /** The hologram timer line last pushed, so unchanged lines are not pushed again. */
+    private String renderedTimerLine;
+    /** What the flag's timer block and beacon look like in each phase, fixed when the attack is prepared. */
+    private final RepaintPlan repaintPlan;
+    /** The phase the {@link #flagTimerBlock} was last set to show. */
+    private int timerPhaseID = -1;
+    /**
+     * The phase the {@link #beaconFlagBlocks} were last painted with. Volatile, as it is written on the flag's region
+     * and may be read while the plugin disables.
+     */
+    private volatile int paintedPhaseID = -1;
+    /**
+     * The WarClock timer waiting for a viewer to repaint a culled beacon, or syncing a virtual beacon with viewers, or
+     * null if neither is needed. Volatile, as it is set on the flag's region and may be canceled while the plugin
+     * disables.
+     */
+    private volatile WarClock.Timer catchUpTask;
+    /** Set once the attack has been won, defended or canceled, so it can only be resolved once across threads. */
+    private final AtomicBoolean resolved = new AtomicBoolean();
+    /** This attack's {@link FlagBlock}s, indexed by {@link FlagBlock.Part#ordinal()}. */
+    private final FlagBlock[] flagBlockClaims;
 
     /**
-     * Prepares the CellUnderAttack.
+     * Prepares the CellUnderAttack, resolving the flag owner's UUID from their name.
      *
      * @param flagOwner Name of the Resident that placed the flag
      * @param base {@link Block} representing the "flag pole" of the block
      * @param timerPhase Time (as a long) between Material shifting the flag and beacon.
+     * @deprecated Names are not stable across renames, use
+     * {@link #CellUnderAttack(UUID, String, Block, Duration)} instead.
      */
+    @Deprecated
     public CellUnderAttack(final String flagOwner, final Block base, final Duration timerPhase) {
+        this(resolveFlagOwnerUUID(flagOwner), flagOwner, base, timerPhase);
+    }
+
+    /**
+     * Prepares the CellUnderAttack.
+     *
+     * @param ownerUUID UUID of the Player that placed the flag
+     * @param flagOwner Name of the Resident that placed the flag
+     * @param base {@link Block} representing the "flag pole" of the block
+     * @param timerPhase Time (as a long) between Material shifting the flag and beacon.
+     */
+    public CellUnderAttack(final UUID ownerUUID, final String flagOwner, final Block base,
+                           final Duration timerPhase) {
 
         super(base.getLocation());
+        this.flagOwnerUUID = ownerUUID;
         this.nameOfFlagOwner = flagOwner;
         this.flagBaseBlock = base;
         this.flagPhaseID = 0;
-        this.flagLifeTime = FlagWarConfig.getFlagLifeTime();
+        this.repaintPlan = RepaintPlan.get();
+        this.totalLifeTime = FlagWarConfig.getFlagLifeTime();
+        this.flagLifeTime = totalLifeTime;
+
+        Town defendingTown = TownyAPI.getInstance().getTown(base.getLocation());
+        this.defendingTownUUID = defendingTown != null ? defendingTown.getUUID() : null;
 
         var world = base.getWorld();
         this.flagTimerBlock = world.getBlockAt(base.getX(), base.getY() + 1, base.getZ());
         this.flagLightBlock = world.getBlockAt(base.getX(), base.getY() + 2, base.getZ());
 
         this.flagPhaseDuration = timerPhase;
+        this.lagCompensated = FlagWarConfig.isLagCompensated();
         this.thread = new CellAttackThread(this);
         this.hologramThread = new HologramUpdateThread(this);
+
+        FlagBlock.Part[] parts = FlagBlock.Part.values();
+        this.flagBlockClaims = new FlagBlock[parts.length];
+        for (FlagBlock.Part part : parts) {
+            flagBlockClaims[part.ordinal()] = new FlagBlock(this, part);
+        }
     }
 
     /** @return if {@link CellUnderAttack} equals a given {@link Object}. (Defers to {@link Cell#equals(Object)}.) */
@@ -114,23 +203,28 @@ public class CellUnderAttack extends Cell {
         return super.hashCode();
     }
 
-    /** Function to load the war beacon. */
+    /**
+     * Function to load the war beacon, placing the cached {@link BeaconTemplate} at the beacon's origin. If
+     * {@link FlagWarConfig#isVirtualBeacon()}, the beacon is only sent to nearby clients, as a {@link VirtualBeacon}.
+     * Otherwise, the original blocks are snapshot, to be restored when the flag is destroyed. Unless
+     * {@link FlagWarConfig#isBeaconDrawnThroughBlocks()}, only empty blocks are part of the beacon.
+     */
     public void loadBeacon() {
+        beaconFlagBlocks = BeaconBlocks.empty(flagBaseBlock.getWorld());
+        beaconWireframeBlocks = beaconFlagBlocks;
+
         if (!FlagWarConfig.isDrawingBeacon()) {
             Messaging.debug("loadBeacon() returned. Config:beacon.draw read as false");
             return;
         }
 
-        beaconFlagBlocks = new ArrayList<>();
-        beaconWireframeBlocks = new ArrayList<>();
-
-        int beaconSize = FlagWarConfig.getBeaconSize();
-        if (Coord.getCellSize() < beaconSize) {
+        BeaconTemplate template = BeaconTemplate.get();
+        if (!template.fitsCell()) {
             Messaging.debug("loadBeacon() returned. \"Coord#getCellSize()\" smaller than Config:beacon.size");
             return;
         }
 
-        var minBlock = getBeaconMinBlock(getFlagBaseBlock().getWorld());
+        var minBlock = getBeaconMinBlock(getFlagBaseBlock().getWorld(), template);
         var minHeight = (getTopOfFlagBlock().getY() + FlagWarConfig.getBeaconMinHeightAboveFlag());
         if (minHeight <= getTopOfFlagBlock().getY()) {
             Messaging.debug("loadBeacon() returned. Minimum Y-height <= top of flag.");
@@ -138,28 +232,19 @@ public class CellUnderAttack extends Cell {
             return;
         }
 
-        int outerEdge = beaconSize - 1;
         Messaging.debug("(Beacon) Drawing. Now iterating over blocks.");
-        for (var y = 0; y < beaconSize; y++) {
-            for (var z = 0; z < beaconSize; z++) {
-                for (var x = 0; x < beaconSize; x++) {
-                    var block = flagBaseBlock.getWorld().getBlockAt(minBlock.getX() + x,
-                        minBlock.getY() + y, minBlock.getZ() + z);
-                    if (block.isEmpty()) {
-                        Messaging.debug("(Beacon) Spawning %s at %d, %d, %d", block.toString(), x, y, z);
-                        drawBeaconOrWireframe(outerEdge, y, z, x, block);
-                    }
-                }
-            }
+        if (FlagWarConfig.isBeaconDrawnThroughBlocks()) {
+            beaconFlagBlocks = BeaconBlocks.of(minBlock, template.getBodyOffsets());
+            beaconWireframeBlocks = BeaconBlocks.of(minBlock, template.getWireframeOffsets());
+        } else {
+            beaconFlagBlocks = BeaconBlocks.ofEmpty(minBlock, template.getBodyOffsets());
+            beaconWireframeBlocks = BeaconBlocks.ofEmpty(minBlock, template.getWireframeOffsets());
         }
-    }
-
-    private void drawBeaconOrWireframe(final int edge, final int y, final int z, final int x, final Block block) {
-        int edgeCount = getEdgeCount(x, y, z, edge);
-        if (edgeCount > 1) {
-            beaconWireframeBlocks.add(block);
-        } else if (edgeCount == 1) {
-            beaconFlagBlocks.add(block);
+        if (FlagWarConfig.isVirtualBeacon()) {
+            virtualBeacon = new VirtualBeacon(flagBaseBlock, beaconFlagBlocks, beaconWireframeBlocks);
+        } else {
+            beaconBodySnapshot = PalettedBlockData.of(beaconFlagBlocks, beaconFlagBlocks.size());
+            beaconWireframeSnapshot = PalettedBlockData.of(beaconWireframeBlocks, beaconWireframeBlocks.size());
         }
     }
 
@@ -167,35 +252,22 @@ public class CellUnderAttack extends Cell {
         return flagLightBlock;
     }
 
-    private int getEdgeCount(final int x, final int y, final int z, final int outerEdge) {
-        return (zeroOrEq(x, outerEdge) ? 1 : 0) + (zeroOrEq(y, outerEdge) ? 1 : 0) + (zeroOrEq(z, outerEdge) ? 1 : 0);
-    }
-
-    /**
-     * Simple Boolean to determine if an integer (a) is 0, or matches the secondary integer (b).
-     * @param a the number being evaluated.
-     * @param b the number being compared against.
-     * @return TRUE if n is either 0 or equal to max.
-     */
-    private boolean zeroOrEq(final int a, final int b) {
-        return a == 0 || a == b;
-    }
-
     /**
      * Calculates and returns the {@link Block} at the origin-point of the beacon.
      * @param world the world the beacon should be drawn in. Used for retrieving the maximum world height, and returning
      *              the origin-point.
+     * @param template the BeaconTemplate being drawn.
      * @return the Block at the origin-point of the beacon.
      */
-    private Block getBeaconMinBlock(final World world) {
-        int fromCorner = ((int) Math.floor(Coord.getCellSize() / 2.0)) - (FlagWarConfig.getBeaconRadius() - 1);
+    private Block getBeaconMinBlock(final World world, final BeaconTemplate template) {
+        int fromCorner = template.getCornerOffset();
         int x = (getX() * Coord.getCellSize()) + fromCorner;
         int z = (getZ() * Coord.getCellSize()) + fromCorner;
         int maxY = world.getMaxHeight();
         int y = getTopOfFlagBlock().getY() + FlagWarConfig.getBeaconMaxHeightAboveFlag();
 
         if (y > maxY) {
-            y = maxY - FlagWarConfig.getBeaconSize();
+            y = maxY - template.getSize();
         }
 
         return world.getBlockAt(x, y, z);
@@ -206,81 +278,324 @@ public class CellUnderAttack extends Cell {
         return flagBaseBlock;
     }
 
+    /**
+     * @return the value of {@link #defendingTownUUID}, or null if the flag was not placed inside a town.
+     */
+    @Nullable
+    public UUID getDefendingTownUUID() {
+        return defendingTownUUID;
+    }
+
     /** @return the value of {@link #nameOfFlagOwner}. */
     public String getNameOfFlagOwner() {
         return nameOfFlagOwner;
     }
 
-    /** @return TRUE if the {@link #flagPhaseID} is equal or greater than the length of
-     * {@link FlagWarConfig#getTimerBlocks()} */
+    /** @return the value of {@link #flagOwnerUUID}. */
+    public UUID getFlagOwnerUUID() {
+        return flagOwnerUUID;
+    }
+
+    /**
+     * Resolve a flag owner's UUID through their Towny {@link com.palmergames.bukkit.towny.object.Resident}, falling
+     * back to Bukkit's offline player lookup.
+     * @param flagOwner name of the flag owner.
+     * @return the flag owner's UUID.
+     */
+    @SuppressWarnings("deprecation")
+    private static UUID resolveFlagOwnerUUID(final String flagOwner) {
+        var resident = TownyUniverse.getInstance().getResident(flagOwner);
+        return resident != null ? resident.getUUID() : Bukkit.getOfflinePlayer(flagOwner).getUniqueId();
+    }
+
+    /**
+     * Claim the right to resolve this attack. Only the first caller, on any thread, gets TRUE.
+     * @return TRUE if the attack had not been resolved yet.
+     */
+    public boolean markResolved() {
+        return resolved.compareAndSet(false, true);
+    }
+
+    /** @return TRUE if the attack has been won, defended or canceled. */
+    public boolean isResolved() {
+        return resolved.get();
+    }
+
+    /** @return TRUE if the {@link #flagPhaseID} is equal or greater than the {@link RepaintPlan#getPhaseCount()} */
     public boolean hasEnded() {
-        return flagPhaseID >= FlagWarConfig.getTimerBlocks().length;
+        return flagPhaseID >= repaintPlan.getPhaseCount();
     }
 
-    /** Function to increment the {@link #flagPhaseID} and then run {@link #updateFlag()}. */
+    /**
+     * Function to increment the {@link #flagPhaseID} and then run {@link #updateFlag()}.
+     * <p>
+     * When lag-compensated, the flag instead jumps straight to the phase due by the wall clock, skipping any phases
+     * missed while the server was behind, and the next run is scheduled for the following phase's deadline.
+     */
     public void changeFlag() {
-        flagPhaseID += 1;
-        updateFlag();
+        if (!lagCompensated) {
+            flagPhaseID += 1;
+            updateFlag();
+            return;
+        }
+        int duePhase = getDuePhase(System.nanoTime());
+        if (duePhase > flagPhaseID) {
+            flagPhaseID = duePhase;
+            updateFlag();
+        }
+        if (!hasEnded()) {
+            scheduleNextPhase();
+        }
+    }
+
+    /**
+     * @param now the current {@link System#nanoTime()}.
+     * @return the phase due at the given time, capped at the {@link RepaintPlan#getPhaseCount()}.
+     */
+    private int getDuePhase(final long now) {
+        long phaseNanos = Math.max(1, flagPhaseDuration.toNanos());
+        long duePhase = (now - attackStartNanos) / phaseNanos;
+        return (int) Math.min(duePhase, repaintPlan.getPhaseCount());
+    }
+
+    /**
+     * Schedule the {@link #thread} to run once, at the deadline of the phase after {@link #flagPhaseID}. The deadline
+     * is converted to ticks at the nominal rate, so a lagging server runs it late rather than early.
+     */
+    private void scheduleNextPhase() {
+        final long nanosPerTick = 50_000_000L;
+        long nextDeadline = attackStartNanos + flagPhaseDuration.toNanos() * (flagPhaseID + 1);
+        long ticks = (nextDeadline - System.nanoTime() + nanosPerTick - 1) / nanosPerTick;
+        threadTask = clocks.scheduleOnce(flagBaseBlock.getLocation(), thread, ticks);
+        if (resolved.get()) {
+            // Resolved while scheduling: cancel() may have missed the new timer.
+            threadTask.cancel();
+        }
     }
 
     /**
      * Function to draw the war flag, and beacon wire frame (if {@link #beaconWireframeBlocks} is not empty.)
      * First, runs {@link #loadBeacon()}. Then, sets the {@link #flagBaseBlock} to the type defined by
      * {@link FlagWarConfig#getFlagBaseMaterial()}. Runs {@link #updateFlag()}, then proceeds to draw the
-     * {@link #flagLightBlock}. Finally, for each {@link Block} in {@link #beaconWireframeBlocks}, draws it.
+     * {@link #flagLightBlock}. Finally, for each {@link Block} in {@link #beaconWireframeBlocks}, draws it, unless
+     * the beacon is virtual, in which case it is sent along with the body.
      */
     public void drawFlag() {
         loadBeacon();
-        flagBaseBlock.setType(FlagWarConfig.getFlagBaseMaterial());
+        flagColumnSnapshot = PalettedBlockData.of(List.of(flagTimerBlock, flagLightBlock), 2);
+        claimFlagBlocks();
+        DeferredBlockWrites.set(flagBaseBlock, FlagWarConfig.getFlagBaseMaterial());
         updateFlag();
-        flagLightBlock.setType(FlagWarConfig.getFlagLightMaterial());
-        for (Block block : beaconWireframeBlocks) {
-            block.setType(FlagWarConfig.getBeaconWireFrameMaterial());
+        DeferredBlockWrites.set(flagLightBlock, FlagWarConfig.getFlagLightMaterial());
+        if (virtualBeacon == null) {
+            queueBeaconChanges(beaconWireframeBlocks, repaintPlan.getWireframeData());
         }
     }
 
     /**
-     * If {@link #hasEnded()} returns False, update the {@link #flagTimerBlock} from the timerBlock array, using the
-     * {@link #flagPhaseID} for the array ID. Iterate through and update the {@link #beaconFlagBlocks}.
+     * Queue changes to beacon blocks on the region's {@link WarClock}, which applies them within a per-tick budget.
+     * @param blocks the beacon Blocks to change.
+     * @param data the shared BlockData to set each Block to.
+     */
+    private void queueBeaconChanges(final BeaconBlocks blocks, final BlockData data) {
+        if (!blocks.isEmpty()) {
+            clocks.queueBlockChanges(flagBaseBlock.getLocation(), blocks, index -> data);
+        }
+    }
+
+    /**
+     * If {@link #hasEnded()} returns False, update the {@link #flagTimerBlock} from the {@link RepaintPlan}, using the
+     * {@link #flagPhaseID} as the phase. Queue updates to the {@link #beaconFlagBlocks}, unless culled as no
+     * player is near enough to see them, in which case they catch up once one is. A virtual beacon is instead sent
+     * to nearby players, and re-synced with them periodically, without touching the world. Blocks already showing the
+     * phase's block, painted by an earlier phase using the same one, are not written again. Blocks in unloaded chunks
+     * are written through {@link DeferredBlockWrites}, once their chunk loads, while the timer keeps running.
      * Finally, log the update on the INFO channel.
      */
     public void updateFlag() {
-        Material[] timer = FlagWarConfig.getTimerBlocks();
         if (!hasEnded()) {
-            flagTimerBlock.setType(timer[flagPhaseID]);
-            LOGGER.log(Level.INFO, () ->
-                Translate.from("log.warflag-updated", getCellString(), timer[flagPhaseID].toString()));
-            for (Block block : beaconFlagBlocks) {
-                block.setType(timer[flagPhaseID]);
+            Material material = repaintPlan.getMaterial(flagPhaseID);
+            if (repaintPlan.isRepaintNeeded(timerPhaseID, flagPhaseID)) {
+                timerPhaseID = flagPhaseID;
+                DeferredBlockWrites.set(flagTimerBlock, repaintPlan.getData(flagPhaseID));
+            }
+            LOGGER.log(Level.INFO, () -> Translate.from("log.warflag-updated", getCellString(), material.toString()));
+            if (virtualBeacon != null) {
+                syncVirtualBeacon();
+                awaitViewer();
+            } else if (!repaintPlan.isRepaintNeeded(paintedPhaseID, flagPhaseID)) {
+                paintedPhaseID = flagPhaseID;
+            } else if (isCulled() || !shedder.allowsBeaconRepaints()) {
+                awaitViewer();
+            } else {
+                paintBeacon();
             }
         }
     }
 
-    /** Set all blocks constituting the war flag and beacon as AIR. */
+    /** Paint the {@link #beaconFlagBlocks} with the current phase's block, if not already painted with it. */
+    private void paintBeacon() {
+        if (repaintPlan.isRepaintNeeded(paintedPhaseID, flagPhaseID)) {
+            queueBeaconChanges(beaconFlagBlocks, repaintPlan.getData(flagPhaseID));
+        }
+        paintedPhaseID = flagPhaseID;
+    }
+
+    /**
+     * Send the current phase of the {@link #virtualBeacon} to nearby players, unless the {@link LoadShedder} has turned
+     * beacon repaints off.
+     */
+    private void syncVirtualBeacon() {
+        if (shedder.allowsBeaconRepaints()) {
+            virtualBeacon.sync(repaintPlan.getData(flagPhaseID), repaintPlan.getWireframeData());
+        }
+    }
+
+    /**
+     * Start checking for an approaching viewer, or for load to fall, to repaint the culled beacon in a single step once
+     * it may be. A virtual beacon is checked for the whole attack, as viewers come and go.
+     */
+    private void awaitViewer() {
+        if (catchUpTask == null && !beaconFlagBlocks.isEmpty()) {
+            catchUpTask = clocks.schedule(flagBaseBlock.getLocation(), this::catchUpWithViewer, VIEWER_CHECK_TICKS,
+                VIEWER_CHECK_TICKS);
+        }
+    }
+
+    /** If the beacon may be repainted, or the attack is over, stop waiting; repainting it with the current phase. */
+    private void catchUpWithViewer() {
+        if (resolved.get() || hasEnded()) {
+            stopAwaitingViewer();
+        } else if (virtualBeacon != null) {
+            syncVirtualBeacon();
+        } else if (shedder.allowsBeaconRepaints() && !isCulled()) {
+            stopAwaitingViewer();
+            paintBeacon();
+        }
+    }
+
+    /** Cancel the {@link #catchUpTask}, if any. */
+    private void stopAwaitingViewer() {
+        WarClock.Timer task = catchUpTask;
+        if (task != null) {
+            task.cancel();
+            catchUpTask = null;
+        }
+    }
+
+    /**
+     * Check if cosmetic updates to the attack should be skipped, as enabled by {@link FlagWarConfig#isViewerCulling()}
+     * and no player being within view distance, measured in chunks as the server tracks them. The players near the
+     * flag's region are only looked up once per tick, through {@link WarRegionClocks#hasViewer(Block)}.
+     * @return TRUE if no player could see the attack's beacon or hologram.
+     */
+    private boolean isCulled() {
+        return FlagWarConfig.isViewerCulling() && !clocks.hasViewer(flagBaseBlock);
+    }
+
+    /**
+     * Set the flag's base block as AIR, restore the flag's timer and light to the blocks snapshot when the flag was
+     * drawn, and queue the same for the beacon. Queued beacon changes are applied chunk by chunk, within the
+     * region's per-tick budget, or all at once if the plugin is disabled first. Blocks in unloaded chunks are restored
+     * once their chunk loads. A virtual beacon is cleared from its viewers' clients instead. A flag which was never
+     * drawn, as it was resolved while queued, only has its base cleared. Must run on the thread owning the flag's
+     * region, unless the plugin is disabling.
+     */
     public void destroyFlag() {
-        flagLightBlock.setType(Material.AIR);
-        flagTimerBlock.setType(Material.AIR);
-        flagBaseBlock.setType(Material.AIR);
-        for (Block block : beaconFlagBlocks) {
-            block.setType(Material.AIR);
+        DeferredBlockWrites.set(flagBaseBlock, Material.AIR);
+        if (flagColumnSnapshot == null) {
+            return;
         }
-        for (Block block : beaconWireframeBlocks) {
-            block.setType(Material.AIR);
+        DeferredBlockWrites.set(flagLightBlock, flagColumnSnapshot.get(1));
+        DeferredBlockWrites.set(flagTimerBlock, flagColumnSnapshot.get(0));
+        if (virtualBeacon != null) {
+            virtualBeacon.clear();
+        } else {
+            restoreBeaconBlocks(beaconFlagBlocks, beaconBodySnapshot);
+            restoreBeaconBlocks(beaconWireframeBlocks, beaconWireframeSnapshot);
+        }
+        releaseFlagBlocks();
+    }
+
+    /**
+     * Queue beacon blocks to be restored on the region's {@link WarClock}, which applies them within a per-tick budget.
+     * @param blocks the beacon Blocks to restore.
+     * @param snapshot the snapshot of their original blocks, or null if none was taken.
+     */
+    private void restoreBeaconBlocks(final BeaconBlocks blocks, final PalettedBlockData snapshot) {
+        if (snapshot != null && !blocks.isEmpty()) {
+            clocks.queueBlockChanges(flagBaseBlock.getLocation(), blocks, snapshot::get);
         }
     }
 
-    /** Off-loaded to {@link HologramUtil#updateHologramTimer(String, Duration)}. */
+    /** Register every block of the war flag and beacon in the {@link FlagBlockIndex}. */
+    private void claimFlagBlocks() {
+        FlagBlockIndex.claim(flagBaseBlock, claimOf(FlagBlock.Part.BASE));
+        FlagBlockIndex.claim(flagTimerBlock, claimOf(FlagBlock.Part.TIMER));
+        FlagBlockIndex.claim(flagLightBlock, claimOf(FlagBlock.Part.LIGHT));
+        FlagBlockIndex.claimAll(beaconFlagBlocks, claimOf(FlagBlock.Part.BEACON_BODY));
+        FlagBlockIndex.claimAll(beaconWireframeBlocks, claimOf(FlagBlock.Part.BEACON_WIREFRAME));
+    }
+
+    /** Remove every block of the war flag and beacon from the {@link FlagBlockIndex}. */
+    private void releaseFlagBlocks() {
+        FlagBlockIndex.release(flagBaseBlock, claimOf(FlagBlock.Part.BASE));
+        FlagBlockIndex.release(flagTimerBlock, claimOf(FlagBlock.Part.TIMER));
+        FlagBlockIndex.release(flagLightBlock, claimOf(FlagBlock.Part.LIGHT));
+        FlagBlockIndex.releaseAll(beaconFlagBlocks, claimOf(FlagBlock.Part.BEACON_BODY));
+        FlagBlockIndex.releaseAll(beaconWireframeBlocks, claimOf(FlagBlock.Part.BEACON_WIREFRAME));
+    }
+
+    /**
+     * @param part a part of the war flag or beacon.
+     * @return this attack's {@link FlagBlock} for the part.
+     */
+    private FlagBlock claimOf(final FlagBlock.Part part) {
+        return flagBlockClaims[part.ordinal()];
+    }
+
+    /**
+     * @param block the supplied {@link Block}.
+     * @return the part of this attack's war flag or beacon the Block is, or null if it is not part of this attack.
+     */
+    private FlagBlock.Part partOf(final Block block) {
+        FlagBlock claim = FlagBlockIndex.get(block);
+        return claim != null && claim.attack() == this ? claim.part() : null;
+    }
+
+    /**
+     * Format the hologram's timer line once and, only if it differs from the line last pushed, queue it on the
+     * region's {@link WarClock}, which pushes every changed line in one batch per tick. While no player is near enough
+     * to see the hologram, or while the {@link LoadShedder} has turned hologram timers off, the timer keeps counting,
+     * but nothing is pushed.
+     */
     public void taskUpdateHologram() {
-        this.flagLifeTime = flagLifeTime.minusSeconds(1);
-        HologramUtil.updateHologramTimer(getCellHologramKey(), flagLifeTime);
+        if (lagCompensated) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - attackStartNanos);
+            Duration remaining = totalLifeTime.minus(elapsed);
+            this.flagLifeTime = remaining.isNegative() ? Duration.ZERO : remaining;
+        } else {
+            this.flagLifeTime = flagLifeTime.minusSeconds(1);
+        }
+        if (!shedder.allowsHologramTimers() || isCulled()) {
+            return;
+        }
+        String timerLine = FormatUtil.time(flagLifeTime, FlagWarConfig.getTimerText());
+        if (!timerLine.equals(renderedTimerLine)) {
+            renderedTimerLine = timerLine;
+            clocks.queueHologramLine(flagLightBlock.getLocation(), getCellHologramKey(), timerLine);
+        }
     }
 
     /**
-     * Draw the initial phase of the flag and jump-start both the {@link #thread} and {@link #hologramThread}.
+     * Draw the initial phase of the flag and jump-start both the {@link #thread} and {@link #hologramThread}, as timers
+     * of the {@link WarClock} pinned to the flag's region. If any chunk of the Cell is unloaded, the attack only
+     * begins, with its timers, once it is loaded.
      * <p>
      *     Uses the {@link #flagPhaseDuration} as both the repeat delay and runtime period for the {@link #thread}.
      *     The delay and period are derived from the phase duration in milliseconds, divided by 50.
      *     This value is floored to the last tick, and is not rounded.
+     *     When lag-compensated, the thread instead runs once per phase, at each phase's wall-clock deadline.
      * </p>
      * <p>
      *     If {@link FlagWarConfig#isHologramEnabled()} returns true, draws a hologram, and if
@@ -289,32 +604,107 @@ public class CellUnderAttack extends Cell {
      * </p>
      */
     public void beginAttack() {
+        if (awaitCellChunks()) {
+            return;
+        }
         drawFlag();
         final int tps = 20;
         final int milliTicks = 50;
         final long ticksFromMs = this.flagPhaseDuration.toMillis() / milliTicks;
-        threadTask = scheduler.runRepeating(thread, ticksFromMs, ticksFromMs);
+        attackStartNanos = System.nanoTime();
+        if (lagCompensated) {
+            scheduleNextPhase();
+        } else {
+            threadTask = clocks.schedule(flagBaseBlock.getLocation(), thread, ticksFromMs, ticksFromMs);
+        }
         if (FlagWarConfig.isHologramEnabled()) {
             HologramUtil.drawHologram(getCellHologramKey(), flagLightBlock.getLocation(), flagLifeTime);
+            renderedTimerLine = FormatUtil.time(flagLifeTime, FlagWarConfig.getTimerText());
 
             if (FlagWarConfig.hasTimerLine()) {
-                hologramTask = scheduler.runRepeating(hologramThread, tps, tps);
+                hologramTask = clocks.schedule(flagLightBlock.getLocation(), hologramThread, tps, tps);
+            }
+        }
+    }
+
+    /**
+     * Drawing the flag reads the blocks it replaces, which would load their chunks. If any chunk overlapped by the Cell
+     * is unloaded, as a queued flag may start long after its chunk unloaded, hold {@link #beginAttack()} until that
+     * chunk loads, through {@link DeferredBlockWrites#runWhenLoaded(World, int, int, Runnable)}. Unless the attack was
+     * resolved meanwhile, it then checks again, and so begins once every chunk is loaded.
+     * @return TRUE if the attack is waiting for a chunk to load.
+     */
+    private boolean awaitCellChunks() {
+        World world = flagBaseBlock.getWorld();
+        int cellSize = Coord.getCellSize();
+        int minX = getX() * cellSize;
+        int minZ = getZ() * cellSize;
+        for (int chunkX = minX >> CHUNK_SHIFT; chunkX <= (minX + cellSize - 1) >> CHUNK_SHIFT; chunkX++) {
+            for (int chunkZ = minZ >> CHUNK_SHIFT; chunkZ <= (minZ + cellSize - 1) >> CHUNK_SHIFT; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    DeferredBlockWrites.runWhenLoaded(world, chunkX, chunkZ, () -> {
+                        if (!resolved.get()) {
+                            beginAttack();
+                        }
+                    });
+                    return true;
+                }
             }
         }
+        return false;
     }
 
     /**
-     * Cancels the {@link #thread} task, started in {@link #beginAttack()}. Then runs {@link #destroyFlag()}.
-     * Also cancels the {@link #hologramThread} task, if running, and destroys the Hologram, if it
-     * exists, using {@link HologramUtil#destroyHologram(String)}.
+     * Cancels the {@link #thread} task, started in {@link #beginAttack()}, and the {@link #hologramThread} task, if
+     * running. The rest of the teardown, {@link #tearDown()}, touches the flag's blocks, so it runs on the
+     * {@link WarClock} pinned to the flag's region, on the next tick. While the plugin is disabling, it runs at once.
      */
     public void cancel() {
-        if (threadTask != null) {
-            threadTask.cancel();
+        cancelTimers();
+        if (!FlagWar.getInstance().isEnabled()) {
+            tearDown();
+            return;
+        }
+        Runnable[] teardown = new Runnable[1];
+        teardown[0] = () -> {
+            if (PENDING_TEARDOWNS.remove(teardown[0])) {
+                tearDown();
+            }
+        };
+        PENDING_TEARDOWNS.add(teardown[0]);
+        clocks.scheduleOnce(flagBaseBlock.getLocation(), teardown[0], 1);
+    }
+
+    /**
+     * Run every teardown still waiting for its region's {@link WarClock}, on the calling thread. Only for use while
+     * the plugin is disabling, once the clocks will no longer run them.
+     */
+    public static void tearDownPending() {
+        for (Runnable teardown : PENDING_TEARDOWNS) {
+            teardown.run();
+        }
+    }
+
+    /** Cancel the {@link #threadTask} and {@link #hologramTask}, if started. */
+    private void cancelTimers() {
+        WarClock.Timer phaseTimer = threadTask;
+        if (phaseTimer != null) {
+            phaseTimer.cancel();
         }
-        if (FlagWarConfig.isHologramEnabled() && hologramTask != null) {
-            hologramTask.cancel();
+        WarClock.Timer hologramTimer = hologramTask;
+        if (hologramTimer != null) {
+            hologramTimer.cancel();
         }
+    }
+
+    /**
+     * Cancel the timers again, in case {@link #beginAttack()} was starting them as the attack was resolved, stop
+     * waiting for a viewer, run {@link #destroyFlag()}, and destroy the Hologram, if it exists, using
+     * {@link HologramUtil#destroyHologram(String)}.
+     */
+    private void tearDown() {
+        cancelTimers();
+        stopAwaitingViewer();
         destroyFlag();
         HologramUtil.destroyHologram(getCellHologramKey());
     }
@@ -389,10 +779,11 @@ public class CellUnderAttack extends Cell {
     /**
      * @param block Supplied {@link Block}.
      * @return TRUE if the supplied Block is contained in either the {@link #beaconFlagBlocks} or
-     * {@link #beaconWireframeBlocks} lists.
+     * {@link #beaconWireframeBlocks}, looked up through the {@link FlagBlockIndex}.
      */
     public boolean isPartOfBeacon(final Block block) {
-        return beaconFlagBlocks != null && beaconFlagBlocks.contains(block) || beaconWireframeBlocks.contains(block);
+        FlagBlock.Part part = partOf(block);
+        return part == FlagBlock.Part.BEACON_BODY || part == FlagBlock.Part.BEACON_WIREFRAME;
     }
 
     /**
@@ -402,6 +793,7 @@ public class CellUnderAttack extends Cell {
      * @return TRUE if any condition is true.
      */
     public boolean isImmutableBlock(final Block block) {
-        return isPartOfBeacon(block) || isFlagBase(block) || isFlagLight(block);
+        FlagBlock.Part part = partOf(block);
+        return part != null && part.isImmutable();
     }
 }
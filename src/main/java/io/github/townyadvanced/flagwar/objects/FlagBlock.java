@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.objects;
+
+/**
+ * Marks a block position as part of a {@link CellUnderAttack}'s war flag or beacon. Each attack holds one instance
+ * per {@link Part}, shared by every block of that part, and registers them in the {@link FlagBlockIndex}.
+ *
+ * @param attack the CellUnderAttack owning the block.
+ * @param part which part of the war flag or beacon the block is.
+ */
+public record FlagBlock(CellUnderAttack attack, Part part) {
+
+    /** The parts making up a war flag and its beacon. */
+    public enum Part {
+        /** The flag pole. */
+        BASE,
+        /** The block cycling through the timer materials. Breaking it defends the cell. */
+        TIMER,
+        /** The light-emitting top of the flag. */
+        LIGHT,
+        /** The body of the beacon, following the timer materials. */
+        BEACON_BODY,
+        /** The edges of the beacon. */
+        BEACON_WIREFRAME;
+
+        /** @return TRUE if blocks of this part must not be altered while the attack runs. */
+        public boolean isImmutable() {
+            return this != TIMER;
+        }
+    }
+}
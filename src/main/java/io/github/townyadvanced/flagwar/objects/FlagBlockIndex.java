@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.objects;
+
+import io.github.townyadvanced.flagwar.util.WorldLongMap;
+import org.bukkit.block.Block;
+
+/**
+ * Global index of every block belonging to an active war flag or beacon, keyed by world and packed block position.
+ * <p>
+ * Populated when a {@link CellUnderAttack} draws its flag, and cleared when it destroys it, so telling whether a
+ * block is protected, and by which attack, takes a single hash probe instead of scanning each attack's block lists.
+ */
+public final class FlagBlockIndex {
+
+    /** Bits used by the packed x and z coordinates. */
+    private static final int XZ_BITS = 26;
+    /** Bits used by the packed y coordinate. */
+    private static final int Y_BITS = 12;
+    /** Mask for the packed x and z coordinates. */
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    /** Mask for the packed y coordinate. */
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+    /** Every claimed block position, per world. */
+    private static final WorldLongMap<FlagBlock> INDEX = new WorldLongMap<>();
+
+    private FlagBlockIndex() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Pack a block position into a single long, using the same layout as Minecraft's block positions.
+     * @param x the block's x coordinate.
+     * @param y the block's y coordinate.
+     * @param z the block's z coordinate.
+     * @return the packed position.
+     */
+    public static long pack(final int x, final int y, final int z) {
+        return ((x & XZ_MASK) << (XZ_BITS + Y_BITS)) | ((z & XZ_MASK) << Y_BITS) | (y & Y_MASK);
+    }
+
+    /**
+     * @param packed a position packed by {@link #pack(int, int, int)}.
+     * @return the position's x coordinate.
+     */
+    public static int unpackX(final long packed) {
+        return (int) (packed >> (XZ_BITS + Y_BITS));
+    }
+
+    /**
+     * @param packed a position packed by {@link #pack(int, int, int)}.
+     * @return the position's y coordinate.
+     */
+    public static int unpackY(final long packed) {
+        return (int) (packed << (Long.SIZE - Y_BITS) >> (Long.SIZE - Y_BITS));
+    }
+
+    /**
+     * @param packed a position packed by {@link #pack(int, int, int)}.
+     * @return the position's z coordinate.
+     */
+    public static int unpackZ(final long packed) {
+        return (int) (packed << (Long.SIZE - XZ_BITS - Y_BITS) >> (Long.SIZE - XZ_BITS));
+    }
+
+    /**
+     * @param block the Block to look up.
+     * @return the {@link FlagBlock} claiming the Block, or null if it is not part of any war flag or beacon.
+     */
+    public static FlagBlock get(final Block block) {
+        return INDEX.get(block.getWorld().getName(), pack(block.getX(), block.getY(), block.getZ()));
+    }
+
+    /**
+     * Claim a Block for a war flag or beacon part, replacing any previous claim.
+     * @param block the Block being drawn.
+     * @param claim the FlagBlock to claim it with.
+     */
+    static void claim(final Block block, final FlagBlock claim) {
+        INDEX.put(block.getWorld().getName(), pack(block.getX(), block.getY(), block.getZ()), claim);
+    }
+
+    /**
+     * Release a Block, if it is still held by the given claim.
+     * @param block the Block being destroyed.
+     * @param claim the FlagBlock it was claimed with.
+     */
+    static void release(final Block block, final FlagBlock claim) {
+        INDEX.remove(block.getWorld().getName(), pack(block.getX(), block.getY(), block.getZ()), claim);
+    }
+
+    /**
+     * Claim every position of a set of beacon blocks for a war beacon part, replacing any previous claims.
+     * @param blocks the BeaconBlocks being drawn.
+     * @param claim the FlagBlock to claim them with.
+     */
+    static void claimAll(final BeaconBlocks blocks, final FlagBlock claim) {
+        String worldName = blocks.getWorld().getName();
+        for (var i = 0; i < blocks.size(); i++) {
+            INDEX.put(worldName, blocks.getPosition(i), claim);
+        }
+    }
+
+    /**
+     * Release every position of a set of beacon blocks still held by the given claim.
+     * @param blocks the BeaconBlocks being destroyed.
+     * @param claim the FlagBlock they were claimed with.
+     */
+    static void releaseAll(final BeaconBlocks blocks, final FlagBlock claim) {
+        String worldName = blocks.getWorld().getName();
+        for (var i = 0; i < blocks.size(); i++) {
+            INDEX.remove(worldName, blocks.getPosition(i), claim);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import io.github.townyadvanced.flagwar.config.FlagWarConfig;
+import io.github.townyadvanced.flagwar.util.DeferredBlockWrites;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+
+/**
+ * What a war flag's timer block and beacon look like in each phase, resolved once per configuration.
+ * <p>
+ * Every phase's {@link Material} is resolved to its shared {@link BlockData} up front, so telling if moving from one
+ * phase to another changes anything is a single comparison, and phases which repeat the previous phase's block are
+ * skipped rather than written again. The plan is rebuilt by {@link #reload()} when the configuration is reloaded; each
+ * attack keeps the plan it started with.
+ */
+public final class RepaintPlan {
+
+    /** The current plan, or null before the first {@link #get()} or {@link #reload()}. */
+    private static volatile RepaintPlan current;
+
+    /** Each phase's Material, indexed by phase. */
+    private final Material[] materials;
+    /** Each phase's BlockData, indexed by phase. */
+    private final BlockData[] phaseData;
+    /** The BlockData of the beacon's wireframe. */
+    private final BlockData wireframeData;
+
+    /**
+     * Builds a plan.
+     * @param timerMaterials each phase's Material, owned by the new plan.
+     * @param wireframeMaterial the Material of the beacon's wireframe.
+     */
+    private RepaintPlan(final Material[] timerMaterials, final Material wireframeMaterial) {
+        this.materials = timerMaterials;
+        this.phaseData = new BlockData[timerMaterials.length];
+        for (var i = 0; i < timerMaterials.length; i++) {
+            phaseData[i] = DeferredBlockWrites.dataOf(timerMaterials[i]);
+        }
+        this.wireframeData = DeferredBlockWrites.dataOf(wireframeMaterial);
+    }
+
+    /**
+     * Get the plan for the current configuration, building it if needed.
+     * @return the current RepaintPlan.
+     */
+    public static RepaintPlan get() {
+        RepaintPlan plan = current;
+        return plan != null ? plan : reload();
+    }
+
+    /**
+     * Rebuild the plan from the configuration.
+     * @return the new RepaintPlan.
+     */
+    public static RepaintPlan reload() {
+        var plan = new RepaintPlan(FlagWarConfig.getTimerBlocks(), FlagWarConfig.getBeaconWireFrameMaterial());
+        current = plan;
+        return plan;
+    }
+
+    /** @return the number of phases, after which the flag has ended. */
+    public int getPhaseCount() {
+        return materials.length;
+    }
+
+    /**
+     * @param phase the phase, from 0 to {@link #getPhaseCount()} exclusive.
+     * @return the phase's Material.
+     */
+    public Material getMaterial(final int phase) {
+        return materials[phase];
+    }
+
+    /**
+     * @param phase the phase, from 0 to {@link #getPhaseCount()} exclusive.
+     * @return the phase's BlockData. Shared, so it must not be modified.
+     */
+    public BlockData getData(final int phase) {
+        return phaseData[phase];
+    }
+
+    /** @return the BlockData of the beacon's wireframe. Shared, so it must not be modified. */
+    public BlockData getWireframeData() {
+        return wireframeData;
+    }
+
+    /**
+     * Check if blocks showing one phase must be rewritten to show another.
+     * @param shownPhase the phase the blocks show, or a negative value if they have not been drawn yet.
+     * @param phase the phase they should show.
+     * @return TRUE unless both phases resolve to the same BlockData.
+     */
+    public boolean isRepaintNeeded(final int shownPhase, final int phase) {
+        return shownPhase < 0 || phaseData[shownPhase] != phaseData[phase];
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A war beacon drawn only on clients, through {@link Player#sendBlockChanges(java.util.Collection)}.
+ * <p>
+ * The world is never written to. Each player within view distance of the flag is sent the wireframe once and the body
+ * whenever its block changes, each time as a single multi-block change, and players coming back into range are sent
+ * the whole beacon again. Clearing the beacon sends every remaining viewer the real blocks, after which it is never
+ * sent again.
+ * Synchronized, as the beacon is synced by the flag's region but cleared by the disabling thread, if the plugin is
+ * disabled mid-attack.
+ */
+final class VirtualBeacon {
+
+    /** Bits shifted from a block coordinate to get its chunk coordinate. */
+    private static final int CHUNK_SHIFT = 4;
+
+    /** The block range checks are measured from. */
+    private final Block anchor;
+    /** The body blocks, showing the flag's phase. */
+    private final BeaconBlocks body;
+    /** The wireframe blocks. */
+    private final BeaconBlocks wireframe;
+    /** The body BlockData last sent to each viewer still in range, keyed by UUID. */
+    private final Map<UUID, BlockData> viewers = new HashMap<>();
+    /** Fake wireframe blocks, built on first send. */
+    private List<BlockState> wireframeStates;
+    /** Fake body blocks, showing {@link #bodyData}. */
+    private List<BlockState> bodyStates;
+    /** The BlockData {@link #bodyStates} were built for. */
+    private BlockData bodyData;
+    /** Set once the beacon has been cleared. */
+    private boolean cleared;
+
+    /**
+     * @param anchorBlock the block range checks are measured from.
+     * @param bodyBlocks the body blocks, showing the flag's phase.
+     * @param wireframeBlocks the wireframe blocks.
+     */
+    VirtualBeacon(final Block anchorBlock, final BeaconBlocks bodyBlocks, final BeaconBlocks wireframeBlocks) {
+        this.anchor = anchorBlock;
+        this.body = bodyBlocks;
+        this.wireframe = wireframeBlocks;
+    }
+
+    /**
+     * Bring every player within view distance up to the flag's phase. New viewers are sent the whole beacon, and others
+     * only the body, if its block changed since they were last sent it.
+     * @param phaseData the shared BlockData of the flag's phase.
+     * @param wireframeData the shared BlockData of the wireframe.
+     */
+    synchronized void sync(final BlockData phaseData, final BlockData wireframeData) {
+        if (cleared) {
+            return;
+        }
+        if (phaseData != bodyData) {
+            bodyStates = fakeStates(body, phaseData);
+            bodyData = phaseData;
+        }
+        Map<UUID, BlockData> inRange = new HashMap<>();
+        for (Player player : anchor.getWorld().getPlayers()) {
+            if (!isWithinViewDistance(anchor, player)) {
+                continue;
+            }
+            BlockData sentData = viewers.get(player.getUniqueId());
+            if (sentData == null) {
+                if (wireframeStates == null) {
+                    wireframeStates = fakeStates(wireframe, wireframeData);
+                }
+                List<BlockState> all = new ArrayList<>(wireframeStates.size() + bodyStates.size());
+                all.addAll(wireframeStates);
+                all.addAll(bodyStates);
+                player.sendBlockChanges(all);
+            } else if (sentData != phaseData) {
+                player.sendBlockChanges(bodyStates);
+            }
+            inRange.put(player.getUniqueId(), phaseData);
+        }
+        viewers.clear();
+        viewers.putAll(inRange);
+    }
+
+    /** Send every viewer still in the world the real blocks in place of the beacon, and stop sending it. */
+    synchronized void clear() {
+        cleared = true;
+        if (!viewers.isEmpty()) {
+            List<BlockState> real = new ArrayList<>(body.size() + wireframe.size());
+            for (Block block : body) {
+                real.add(block.getState());
+            }
+            for (Block block : wireframe) {
+                real.add(block.getState());
+            }
+            for (Player player : anchor.getWorld().getPlayers()) {
+                if (viewers.containsKey(player.getUniqueId())) {
+                    player.sendBlockChanges(real);
+                }
+            }
+        }
+        viewers.clear();
+    }
+
+    /**
+     * Check if a player is within view distance of a block, measured in chunks as the server tracks them.
+     * @param block the Block.
+     * @param player the Player, in the Block's World.
+     * @return TRUE if the player's client may have the Block's chunk loaded.
+     */
+    static boolean isWithinViewDistance(final Block block, final Player player) {
+        int viewDistance = block.getWorld().getViewDistance();
+        var location = player.getLocation();
+        return Math.abs((location.getBlockX() >> CHUNK_SHIFT) - (block.getX() >> CHUNK_SHIFT)) <= viewDistance
+            && Math.abs((location.getBlockZ() >> CHUNK_SHIFT) - (block.getZ() >> CHUNK_SHIFT)) <= viewDistance;
+    }
+
+    /**
+     * @param blocks the Blocks.
+     * @param data the BlockData to show.
+     * @return snapshots of the Blocks, showing the BlockData. The world is left untouched.
+     */
+    private static List<BlockState> fakeStates(final BeaconBlocks blocks, final BlockData data) {
+        List<BlockState> states = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            BlockState state = block.getState();
+            state.setBlockData(data);
+            states.add(state);
+        }
+        return states;
+    }
+}
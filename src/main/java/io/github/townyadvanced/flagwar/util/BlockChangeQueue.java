@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.util;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntFunction;
+
+/**
+ * A first-in, first-out queue of block changes, applied a tick at a time within a time budget.
+ * <p>
+ * Changes may be queued from any thread, but must be applied by the thread owning the blocks. As changes are applied
+ * in the order they were queued, the last change queued for a block is the one which sticks. Changes are applied
+ * through {@link DeferredBlockWrites}, so blocks in unloaded chunks are changed once their chunk loads.
+ * <p>
+ * Each Material is resolved to its cached {@link BlockData} once, when queued, and written without physics. Blocks
+ * queued together are grouped by chunk, so consecutive writes land in the same chunk.
+ */
+public final class BlockChangeQueue {
+
+    /** Changes waiting to be applied. */
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Queue a block change.
+     * @param block the Block to change.
+     * @param material the Material to set the Block to.
+     */
+    public void add(final Block block, final Material material) {
+        changes.add(new Change(block, DeferredBlockWrites.dataOf(material)));
+    }
+
+    /**
+     * Queue the same change for several blocks.
+     * @param blocks the Blocks to change.
+     * @param material the Material to set each Block to.
+     */
+    public void addAll(final Iterable<Block> blocks, final Material material) {
+        BlockData data = DeferredBlockWrites.dataOf(material);
+        addAll(blocks, index -> data);
+    }
+
+    /**
+     * Queue a change for each of several blocks, such as restoring a {@link PalettedBlockData} snapshot.
+     * @param blocks the Blocks to change.
+     * @param dataByIndex the BlockData to set each Block to, by the Block's index in iteration order.
+     */
+    public void addAll(final Iterable<Block> blocks, final IntFunction<BlockData> dataByIndex) {
+        Map<Long, List<Change>> byChunk = new LinkedHashMap<>();
+        var index = 0;
+        for (Block block : blocks) {
+            var change = new Change(block, dataByIndex.apply(index++));
+            byChunk.computeIfAbsent(DeferredBlockWrites.chunkKeyOf(block), key -> new ArrayList<>()).add(change);
+        }
+        for (List<Change> chunkChanges : byChunk.values()) {
+            changes.addAll(chunkChanges);
+        }
+    }
+
+    /**
+     * Apply queued changes until the queue is empty or the budget is spent. At least one change is applied, so the
+     * queue always makes progress.
+     * @param budgetNanos the time budget, in nanoseconds.
+     * @return the number of changes applied.
+     */
+    public int drain(final long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int applied = 0;
+        for (Change change = changes.poll(); change != null; change = changes.poll()) {
+            DeferredBlockWrites.set(change.block, change.data);
+            applied++;
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Apply every queued change, regardless of time.
+     * @return the number of changes applied.
+     */
+    public int flush() {
+        int applied = 0;
+        for (Change change = changes.poll(); change != null; change = changes.poll()) {
+            DeferredBlockWrites.set(change.block, change.data);
+            applied++;
+        }
+        return applied;
+    }
+
+    /** @return TRUE if no changes are waiting. */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /** @return the number of changes waiting. Counted in linear time. */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * A queued block change.
+     * @param block the Block to change.
+     * @param data the shared BlockData to set the Block to.
+     */
+    private record Change(Block block, BlockData data) { }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Per-world counting filter over chunk coordinates, answering "might anything be registered in this chunk?".
+ * <p>
+ * Each world holds a fixed array of counters, and every chunk hashes to one counter. Registering an area increments
+ * the counters of every chunk it overlaps, and unregistering it decrements them again. A zero counter therefore
+ * guarantees nothing is registered in the chunk, so unrelated callers are turned away after a couple of array reads;
+ * a non-zero counter may be a collision, and must be confirmed with an exact lookup. Safe for use from multiple
+ * threads.
+ */
+public final class ChunkCountingFilter {
+
+    /** Shift from block to chunk coordinates. */
+    private static final int CHUNK_SHIFT = 4;
+    /** Bits of hash used to pick a counter. */
+    private static final int SLOT_BITS = 12;
+    /** Number of counters per world. */
+    private static final int SLOTS = 1 << SLOT_BITS;
+    /** Golden-ratio multiplier used to spread chunk coordinates across the counters. */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    /** Shift used to pack the chunk x coordinate into the high half of a long. */
+    private static final int PACK_SHIFT = 32;
+    /** Mask used to pack the chunk z coordinate into the low half of a long. */
+    private static final long PACK_MASK = 0xFFFFFFFFL;
+
+    /** Names of the worlds which have counters, at the same index as their counters. Replaced, never modified. */
+    private volatile String[] worldNames = new String[0];
+    /** Per-world counters, at the same index as their world name. Replaced, never modified. */
+    private volatile AtomicIntegerArray[] counters = new AtomicIntegerArray[0];
+
+    /**
+     * Register an area, given as inclusive block bounds.
+     * @param worldName name of the world.
+     * @param minBlockX smallest block x coordinate of the area.
+     * @param minBlockZ smallest block z coordinate of the area.
+     * @param maxBlockX largest block x coordinate of the area.
+     * @param maxBlockZ largest block z coordinate of the area.
+     */
+    public void add(final String worldName, final int minBlockX, final int minBlockZ,
+                    final int maxBlockX, final int maxBlockZ) {
+        adjust(countersFor(worldName), minBlockX, minBlockZ, maxBlockX, maxBlockZ, 1);
+    }
+
+    /**
+     * Unregister an area previously passed to {@link #add(String, int, int, int, int)} with the same bounds.
+     * @param worldName name of the world.
+     * @param minBlockX smallest block x coordinate of the area.
+     * @param minBlockZ smallest block z coordinate of the area.
+     * @param maxBlockX largest block x coordinate of the area.
+     * @param maxBlockZ largest block z coordinate of the area.
+     */
+    public void remove(final String worldName, final int minBlockX, final int minBlockZ,
+                       final int maxBlockX, final int maxBlockZ) {
+        AtomicIntegerArray worldCounters = find(worldName);
+        if (worldCounters != null) {
+            adjust(worldCounters, minBlockX, minBlockZ, maxBlockX, maxBlockZ, -1);
+        }
+    }
+
+    /**
+     * @param worldName name of the world.
+     * @param blockX the block's x coordinate.
+     * @param blockZ the block's z coordinate.
+     * @return false if nothing is registered in the block's chunk; true if something might be.
+     */
+    public boolean mightContain(final String worldName, final int blockX, final int blockZ) {
+        AtomicIntegerArray worldCounters = find(worldName);
+        return worldCounters != null
+            && worldCounters.get(slot(blockX >> CHUNK_SHIFT, blockZ >> CHUNK_SHIFT)) > 0;
+    }
+
+    private static void adjust(final AtomicIntegerArray worldCounters, final int minBlockX, final int minBlockZ,
+                               final int maxBlockX, final int maxBlockZ, final int delta) {
+        for (int chunkX = minBlockX >> CHUNK_SHIFT; chunkX <= maxBlockX >> CHUNK_SHIFT; chunkX++) {
+            for (int chunkZ = minBlockZ >> CHUNK_SHIFT; chunkZ <= maxBlockZ >> CHUNK_SHIFT; chunkZ++) {
+                worldCounters.addAndGet(slot(chunkX, chunkZ), delta);
+            }
+        }
+    }
+
+    private static int slot(final int chunkX, final int chunkZ) {
+        long packed = ((long) chunkX << PACK_SHIFT) | (chunkZ & PACK_MASK);
+        return (int) ((packed * MIX) >>> (Long.SIZE - SLOT_BITS));
+    }
+
+    private AtomicIntegerArray find(final String worldName) {
+        String[] names = worldNames;
+        AtomicIntegerArray[] worldCounters = counters;
+        for (int i = 0; i < names.length && i < worldCounters.length; i++) {
+            if (names[i].equals(worldName)) {
+                return worldCounters[i];
+            }
+        }
+        return null;
+    }
+
+    private synchronized AtomicIntegerArray countersFor(final String worldName) {
+        AtomicIntegerArray worldCounters = find(worldName);
+        if (worldCounters != null) {
+            return worldCounters;
+        }
+        int length = worldNames.length;
+        AtomicIntegerArray[] grownCounters = Arrays.copyOf(counters, length + 1);
+        String[] grownNames = Arrays.copyOf(worldNames, length + 1);
+        worldCounters = new AtomicIntegerArray(SLOTS);
+        grownCounters[length] = worldCounters;
+        grownNames[length] = worldName;
+        // Publish the counters first, so a reader seeing the new name always finds its counters.
+        counters = grownCounters;
+        worldNames = grownNames;
+        return worldCounters;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.util;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds when objects, keyed by UUID, were last flagged, and when their resulting cooldown ends.
+ * <p>
+ * Times are stored as primitive epoch milliseconds, with the deadline fixed when the entry is recorded. Checking a
+ * cooldown is therefore a single map probe and a comparison. The owner schedules {@link #expire(UUID, long, long)} for
+ * each recorded deadline, checking again if it ran early, so entries are dropped once their cooldown ends and memory
+ * stays bounded by the number of entries recorded within one cooldown period. Safe for use from multiple threads.
+ */
+public final class CooldownStore {
+
+    /** Returned by {@link #getFlaggedAt(UUID)} when no cooldown is held. */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /** Live entries, keyed by UUID. */
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Record a cooldown, replacing any held for the same UUID.
+     * @param uuid the UUID of the flagged object.
+     * @param flaggedAt when the object was flagged, in epoch milliseconds.
+     * @param expiresAt when the cooldown ends, in epoch milliseconds.
+     */
+    public void record(final UUID uuid, final long flaggedAt, final long expiresAt) {
+        entries.put(uuid, new Entry(flaggedAt, expiresAt));
+    }
+
+    /**
+     * Record a cooldown, unless one which was flagged later is already held for the same UUID.
+     * @param uuid the UUID of the flagged object.
+     * @param flaggedAt when the object was flagged, in epoch milliseconds.
+     * @param expiresAt when the cooldown ends, in epoch milliseconds.
+     */
+    public void recordLatest(final UUID uuid, final long flaggedAt, final long expiresAt) {
+        entries.merge(uuid, new Entry(flaggedAt, expiresAt),
+            (held, added) -> held.flaggedAt >= added.flaggedAt ? held : added);
+    }
+
+    /**
+     * @param uuid the UUID of the flagged object.
+     * @param now the current time, in epoch milliseconds.
+     * @return TRUE if a cooldown is held for the UUID and has not ended yet.
+     */
+    public boolean isActive(final UUID uuid, final long now) {
+        Entry entry = entries.get(uuid);
+        return entry != null && now < entry.expiresAt;
+    }
+
+    /**
+     * @param uuid the UUID of the flagged object.
+     * @return when the object was flagged, in epoch milliseconds, or {@link #NONE} if no cooldown is held.
+     */
+    public long getFlaggedAt(final UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry == null ? NONE : entry.flaggedAt;
+    }
+
+    /**
+     * @param uuid the UUID of the flagged object.
+     * @return when the cooldown ends, in epoch milliseconds, or {@link #NONE} if no cooldown is held.
+     */
+    public long getExpiresAt(final UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry == null ? NONE : entry.expiresAt;
+    }
+
+    /**
+     * Drop the cooldown held for a UUID, if any.
+     * @param uuid the UUID of the flagged object.
+     */
+    public void remove(final UUID uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * Drop the cooldown held for a UUID if it has ended. A cooldown recorded since, with a later deadline, is kept.
+     * @param uuid the UUID of the flagged object.
+     * @param expiresAt the deadline the caller scheduled this check for, in epoch milliseconds.
+     * @param now the current time, in epoch milliseconds.
+     * @return TRUE if the cooldown with that deadline is still held and has not ended yet, as the check ran early, so
+     * the caller must check again later. FALSE if it was dropped, or replaced by a cooldown with another deadline.
+     */
+    public boolean expire(final UUID uuid, final long expiresAt, final long now) {
+        boolean[] pending = new boolean[1];
+        entries.computeIfPresent(uuid, (key, entry) -> {
+            if (now >= entry.expiresAt) {
+                return null;
+            }
+            pending[0] = entry.expiresAt == expiresAt;
+            return entry;
+        });
+        return pending[0];
+    }
+
+    /** @return the number of cooldowns held, including any which ended but are not dropped yet. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** A single recorded cooldown. */
+    private static final class Entry {
+        /** When the object was flagged, in epoch milliseconds. */
+        private final long flaggedAt;
+        /** When the cooldown ends, in epoch milliseconds. */
+        private final long expiresAt;
+
+        /**
+         * @param flagged when the object was flagged, in epoch milliseconds.
+         * @param expires when the cooldown ends, in epoch milliseconds.
+         */
+        private Entry(final long flagged, final long expires) {
+            this.flaggedAt = flagged;
+            this.expiresAt = expires;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.util;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Chunk-aware block writes, which never load a chunk.
+ * <p>
+ * A write to a block in a loaded chunk is applied straight away. A write to a block in an unloaded chunk is held
+ * instead, replacing any earlier write held for the same block, and applied by {@link #applyChunk(World, int, int)}
+ * once the chunk loads. Blocks are therefore brought straight to their latest state, however many writes they missed.
+ * <p>
+ * Writes use {@link BlockData} resolved once per {@link Material} and shared, and are applied without physics, so
+ * placing or removing a flag does not cascade block updates through its neighbours.
+ * <p>
+ * Work which must read blocks, such as drawing a flag, can likewise be held by {@link #runWhenLoaded(World, int, int,
+ * Runnable)} until its chunk loads, rather than loading the chunk to read it.
+ */
+public final class DeferredBlockWrites {
+
+    /** Bits shifted from a block coordinate to get its chunk coordinate. */
+    private static final int CHUNK_SHIFT = 4;
+    /** Bits used to hold each chunk coordinate in a packed chunk key. */
+    private static final int KEY_SHIFT = 32;
+    /** Mask of the lower 32 bits of a packed chunk key. */
+    private static final long KEY_MASK = 0xFFFFFFFFL;
+
+    /** Held writes, by chunk, then by block, in the order they were first held. */
+    private static final Map<ChunkKey, Map<Block, BlockData>> PENDING = new ConcurrentHashMap<>();
+    /** Held actions, by chunk, in the order they were held. */
+    private static final Map<ChunkKey, List<Runnable>> PENDING_ACTIONS = new ConcurrentHashMap<>();
+    /** The default BlockData of each Material written so far. */
+    private static final Map<Material, BlockData> BLOCK_DATA = new ConcurrentHashMap<>();
+
+    private DeferredBlockWrites() {
+        throw new IllegalStateException("Utility Class");
+    }
+
+    /**
+     * Get the shared default {@link BlockData} of a Material, resolving it on first use. Must not be modified.
+     * @param material the Material.
+     * @return the Material's default BlockData.
+     */
+    public static BlockData dataOf(final Material material) {
+        return BLOCK_DATA.computeIfAbsent(material, Material::createBlockData);
+    }
+
+    /**
+     * @param block the Block.
+     * @return the x and z coordinates of the Block's chunk, packed into one long.
+     */
+    public static long chunkKeyOf(final Block block) {
+        return packChunk(block.getX() >> CHUNK_SHIFT, block.getZ() >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Set a block's type, straight away if its chunk is loaded, or else once it is.
+     * @param block the Block.
+     * @param material the Material to set the Block to.
+     */
+    public static void set(final Block block, final Material material) {
+        set(block, dataOf(material));
+    }
+
+    /**
+     * Set a block's data without physics, straight away if its chunk is loaded, or else once it is.
+     * @param block the Block.
+     * @param data the BlockData to set the Block to.
+     */
+    public static void set(final Block block, final BlockData data) {
+        int chunkX = block.getX() >> CHUNK_SHIFT;
+        int chunkZ = block.getZ() >> CHUNK_SHIFT;
+        World world = block.getWorld();
+        var chunkKey = new ChunkKey(world.getName(), packChunk(chunkX, chunkZ));
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            if (!PENDING.isEmpty()) {
+                // The chunk may have loaded before its writes were applied: never let those override this one.
+                PENDING.computeIfPresent(chunkKey, (key, writes) -> {
+                    writes.remove(block);
+                    return writes.isEmpty() ? null : writes;
+                });
+            }
+            block.setBlockData(data, false);
+            return;
+        }
+        PENDING.compute(chunkKey, (key, writes) -> {
+            Map<Block, BlockData> held = writes != null ? writes : new LinkedHashMap<>();
+            held.put(block, data);
+            return held;
+        });
+    }
+
+    /**
+     * Hold an action until a chunk loads, to be run by {@link #applyChunk(World, int, int)} after the chunk's held
+     * writes. Must be called from the thread owning the chunk, while it is unloaded, so the load cannot be missed.
+     * @param world the chunk's World.
+     * @param chunkX the chunk's x coordinate.
+     * @param chunkZ the chunk's z coordinate.
+     * @param action the action to run once the chunk loads.
+     */
+    public static void runWhenLoaded(final World world, final int chunkX, final int chunkZ, final Runnable action) {
+        PENDING_ACTIONS.computeIfAbsent(new ChunkKey(world.getName(), packChunk(chunkX, chunkZ)),
+            key -> new CopyOnWriteArrayList<>()).add(action);
+    }
+
+    /**
+     * Apply every write held for a chunk, which must be loaded, then run every action held for it.
+     * @param world the chunk's World.
+     * @param chunkX the chunk's x coordinate.
+     * @param chunkZ the chunk's z coordinate.
+     * @return the number of writes applied.
+     */
+    public static int applyChunk(final World world, final int chunkX, final int chunkZ) {
+        var chunkKey = new ChunkKey(world.getName(), packChunk(chunkX, chunkZ));
+        Map<Block, BlockData> writes = PENDING.remove(chunkKey);
+        if (writes != null) {
+            for (Map.Entry<Block, BlockData> write : writes.entrySet()) {
+                write.getKey().setBlockData(write.getValue(), false);
+            }
+        }
+        List<Runnable> actions = PENDING_ACTIONS.remove(chunkKey);
+        if (actions != null) {
+            actions.forEach(Runnable::run);
+        }
+        return writes == null ? 0 : writes.size();
+    }
+
+    /**
+     * Apply every held write, loading chunks as needed. Only meant for shutdown, so no flag or beacon is left behind.
+     * Held actions are dropped.
+     * @return the number of writes applied.
+     */
+    public static int flushAll() {
+        PENDING_ACTIONS.clear();
+        int applied = 0;
+        for (ChunkKey key : PENDING.keySet()) {
+            Map<Block, BlockData> writes = PENDING.remove(key);
+            if (writes != null) {
+                for (Map.Entry<Block, BlockData> write : writes.entrySet()) {
+                    write.getKey().setBlockData(write.getValue(), false);
+                }
+                applied += writes.size();
+            }
+        }
+        return applied;
+    }
+
+    /** @return TRUE if no writes or actions are held. */
+    public static boolean isEmpty() {
+        return PENDING.isEmpty() && PENDING_ACTIONS.isEmpty();
+    }
+
+    private static long packChunk(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << KEY_SHIFT) | (chunkZ & KEY_MASK);
+    }
+
+    /**
+     * Identifies a chunk.
+     * @param world the name of the chunk's world.
+     * @param chunk the chunk's x and z coordinates, packed into one long.
+     */
+    private record ChunkKey(String world, long chunk) { }
+}
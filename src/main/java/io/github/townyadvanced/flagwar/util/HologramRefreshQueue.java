@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects changed hologram timer lines, to be pushed to the hologram provider in a single batch per tick.
+ * <p>
+ * Only the latest line queued for each hologram is kept, so a hologram refreshed several times before a flush is only
+ * pushed once. Lines may be queued from any thread.
+ */
+public final class HologramRefreshQueue {
+
+    /** The latest timer line of each hologram waiting to be pushed, keyed by hologram name. */
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Queue a hologram's new timer line, replacing any line still waiting for the same hologram.
+     * @param name the hologram's name.
+     * @param line the formatted timer line.
+     */
+    public void put(final String name, final String line) {
+        pending.put(name, line);
+    }
+
+    /**
+     * Push every waiting line through {@link HologramUtil#updateHologramTimerLines(Map)}.
+     * @return the number of lines pushed.
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<String, String> batch = new HashMap<>();
+        for (String name : pending.keySet()) {
+            String line = pending.remove(name);
+            if (line != null) {
+                batch.put(name, line);
+            }
+        }
+        HologramUtil.updateHologramTimerLines(batch);
+        return batch.size();
+    }
+
+    /** @return TRUE if no lines are waiting. */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+}
@@ -132,17 +132,27 @@ public final class HologramUtil {
      * @param lifeTime Flag duration
      */
     public static void updateHologramTimer(final String name, final Duration lifeTime) {
+        updateHologramTimerLines(Map.of(name, FormatUtil.time(lifeTime, FlagWarConfig.getTimerText())));
+    }
+
+    /**
+     * Set the timer line text of several Holograms at once, looking up the hologram provider only once.
+     * @param lines the formatted timer line of each Hologram, keyed by Hologram name (Cell String).
+     */
+    public static void updateHologramTimerLines(final Map<String, String> lines) {
         Plugin decentHolograms = FlagWar.getInstance().getServer().getPluginManager()
             .getPlugin("DecentHolograms");
         if (decentHolograms != null && decentHolograms.isEnabled()) {
-            Hologram hologram = DHAPI.getHologram(name);
-
-            if (hologram != null) {
-                DHAPI.setHologramLine(hologram, FlagWarConfig.getHologramTimerLineIndex(),
-                        FormatUtil.time(lifeTime, FlagWarConfig.getTimerText()));
+            int lineIndex = FlagWarConfig.getHologramTimerLineIndex();
+            for (Map.Entry<String, String> line : lines.entrySet()) {
+                Hologram hologram = DHAPI.getHologram(line.getKey());
+                if (hologram != null) {
+                    DHAPI.setHologramLine(hologram, lineIndex, line.getValue());
+                }
             }
         } else {
-            Messaging.debug("Tried to update a hologram's timer (%s), but no supported plugins are in use.", name);
+            Messaging.debug("Tried to update hologram timers (%s), but no supported plugins are in use.",
+                lines.keySet());
         }
     }
 }
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long} values, using linear probing and backward-shift deletion.
+ * <p>
+ * Lookups never box the key or allocate. Null values are not permitted, as a null slot marks an empty bucket.
+ * Not thread-safe, although {@link #getOptimistic(long)} may race with writers if its result is then validated.
+ *
+ * @param <V> the type of mapped values.
+ */
+public final class LongObjectMap<V> {
+
+    /** Smallest table size allocated. Must be a power of two. */
+    private static final int MIN_CAPACITY = 8;
+    /** Largest table size allocated. */
+    private static final int MAX_CAPACITY = 1 << 30;
+    /** Golden-ratio multiplier used to spread packed coordinates across the table. */
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    /** Shift used to fold the high half of the mixed key into the low half. */
+    private static final int FOLD_SHIFT = 32;
+
+    /** Keys, stored at the same index as their value. */
+    private long[] keys;
+    /** Values. A null entry marks an empty slot. */
+    private Object[] values;
+    /** Table size minus one, used to wrap probe indexes. */
+    private int mask;
+    /** Number of mappings held. */
+    private int size;
+    /** Size at which the table doubles, keeping the load factor at or below one half. */
+    private int resizeAt;
+
+    /** Constructs an empty map with the minimum capacity. */
+    public LongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map sized to hold the expected number of mappings without resizing.
+     * @param expected the expected number of mappings.
+     */
+    public LongObjectMap(final int expected) {
+        allocate(tableSizeFor(Math.max(MIN_CAPACITY, expected * 2)));
+    }
+
+    /**
+     * @param key the key to look up.
+     * @return the value mapped to the key, or null if absent.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Look up a key while a writer may be modifying the map, as under a {@link java.util.concurrent.locks.StampedLock}
+     * optimistic read. The table is read once and every index is bounds-checked, so a concurrent resize or shift
+     * cannot throw or loop forever, but the result is only meaningful if the caller then confirms no write happened.
+     * @param key the key to look up.
+     * @return the value mapped to the key, or null if absent, unless a write raced with the lookup.
+     */
+    @SuppressWarnings("unchecked")
+    public V getOptimistic(final long key) {
+        long[] tableKeys = keys;
+        Object[] tableValues = values;
+        int length = Math.min(tableKeys.length, tableValues.length);
+        int tableMask = Integer.highestOneBit(length) - 1;
+        int i = slotFor(key, tableMask);
+        for (int probes = 0; probes < length; probes++) {
+            Object value = tableValues[i];
+            if (value == null) {
+                return null;
+            }
+            if (tableKeys[i] == key) {
+                return (V) value;
+            }
+            i = (i + 1) & tableMask;
+        }
+        return null;
+    }
+
+    /**
+     * @param key the key to look up.
+     * @return true if the key is mapped.
+     */
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Map a key to a value, replacing any existing mapping.
+     * @param key the key.
+     * @param value the value. Must not be null.
+     * @return the previously mapped value, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("LongObjectMap does not accept null values.");
+        }
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Map a key to a value only if the key is not mapped yet.
+     * @param key the key.
+     * @param value the value. Must not be null.
+     * @return the existing value if the key was already mapped (leaving it untouched), otherwise null.
+     */
+    public V putIfAbsent(final long key, final V value) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Remove the mapping for a key, if present.
+     * @param key the key.
+     * @return the removed value, or null if the key was not mapped.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V removed = (V) values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add every value held by this map to a collection.
+     * @param target the collection to add to.
+     */
+    @SuppressWarnings("unchecked")
+    public void collectValues(final Collection<? super V> target) {
+        for (Object value : values) {
+            if (value != null) {
+                target.add((V) value);
+            }
+        }
+    }
+
+    /** @return the number of mappings held. */
+    public int size() {
+        return size;
+    }
+
+    /** @return true if the map holds no mappings. */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Remove all mappings, keeping the current table size. */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int slot(final long key) {
+        return slotFor(key, mask);
+    }
+
+    private static int slotFor(final long key, final int tableMask) {
+        long mixed = key * MIX;
+        return (int) (mixed ^ (mixed >>> FOLD_SHIFT)) & tableMask;
+    }
+
+    /**
+     * Close the gap left at an emptied slot by moving later entries of the same probe run back into it.
+     * @param emptied index of the slot being emptied.
+     */
+    private void shiftBack(final int emptied) {
+        int gap = emptied;
+        int i = (gap + 1) & mask;
+        while (values[i] != null) {
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(final int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >> 1;
+    }
+
+    private static int tableSizeFor(final int wanted) {
+        if (wanted >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.util;
+
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the {@link BlockData} of a sequence of blocks, palette-encoded.
+ * <p>
+ * Each distinct BlockData is held once, in a palette, and each block only holds its index into that palette, as a
+ * single byte while the palette has at most 256 entries, or else a char. Snapshots of mostly uniform blocks, such as
+ * the air a beacon is drawn in, therefore cost about one byte per block.
+ */
+public final class PalettedBlockData {
+
+    /** The largest palette whose indices fit in a byte. */
+    private static final int BYTE_PALETTE_LIMIT = 256;
+    /** Mask turning a byte back into an unsigned index. */
+    private static final int BYTE_MASK = 0xFF;
+
+    /** Every distinct BlockData, in order of first appearance. */
+    private final BlockData[] palette;
+    /** Palette indices, one per block, or null if {@link #wideIndices} are used. */
+    private final byte[] byteIndices;
+    /** Palette indices, one per block, or null if {@link #byteIndices} are used. */
+    private final char[] wideIndices;
+
+    /**
+     * @param entries every distinct BlockData.
+     * @param indices palette indices, one per block.
+     */
+    private PalettedBlockData(final BlockData[] entries, final int[] indices) {
+        this.palette = entries;
+        if (entries.length <= BYTE_PALETTE_LIMIT) {
+            this.byteIndices = new byte[indices.length];
+            this.wideIndices = null;
+            for (var i = 0; i < indices.length; i++) {
+                byteIndices[i] = (byte) indices[i];
+            }
+        } else {
+            this.byteIndices = null;
+            this.wideIndices = new char[indices.length];
+            for (var i = 0; i < indices.length; i++) {
+                wideIndices[i] = (char) indices[i];
+            }
+        }
+    }
+
+    /**
+     * Snapshot the current BlockData of a sequence of blocks.
+     * @param blocks the Blocks, iterated once.
+     * @param count the number of Blocks.
+     * @return the snapshot, indexed in the order the Blocks were iterated.
+     */
+    public static PalettedBlockData of(final Iterable<Block> blocks, final int count) {
+        Map<BlockData, Integer> indexOf = new HashMap<>();
+        List<BlockData> entries = new ArrayList<>();
+        int[] indices = new int[count];
+        var i = 0;
+        for (Block block : blocks) {
+            BlockData data = block.getBlockData();
+            Integer index = indexOf.get(data);
+            if (index == null) {
+                index = entries.size();
+                indexOf.put(data, index);
+                entries.add(data);
+            }
+            indices[i++] = index;
+        }
+        return new PalettedBlockData(entries.toArray(new BlockData[0]), indices);
+    }
+
+    /**
+     * @param index the index of a block, in the order the Blocks were snapshot.
+     * @return the BlockData the block had. Shared, so it must not be modified.
+     */
+    public BlockData get(final int index) {
+        return palette[byteIndices != null ? byteIndices[index] & BYTE_MASK : wideIndices[index]];
+    }
+
+    /** @return the number of blocks snapshot. */
+    public int size() {
+        return byteIndices != null ? byteIndices.length : wideIndices.length;
+    }
+
+    /** @return the number of distinct BlockData snapshot. */
+    public int getPaletteSize() {
+        return palette.length;
+    }
+}
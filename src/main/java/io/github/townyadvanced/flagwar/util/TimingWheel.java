@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.github.townyadvanced.flagwar.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding deadlines measured in ticks, with constant-time scheduling and cancellation.
+ * <p>
+ * The first level has one slot per tick for the next {@value #LEVEL0_SLOTS} ticks. Each further level has
+ * {@value #LEVEL_SLOTS} slots, each spanning a whole rotation of the level below, and its slots are cascaded down as
+ * the wheel reaches them, so each entry is only ever moved once per level. Entries beyond the last level wait in its
+ * furthest slot and are re-inserted whenever it comes round. Slots are intrusive doubly-linked lists, so inserting and
+ * unlinking an {@link Entry} never allocates or searches. Not thread-safe.
+ *
+ * @param <T> the type of values held by entries.
+ */
+public final class TimingWheel<T> {
+
+    /** Bits of the deadline used to index the first level. */
+    private static final int LEVEL0_BITS = 8;
+    /** Bits of the deadline used to index every further level. */
+    private static final int LEVEL_BITS = 6;
+    /** Number of slots in the first level. */
+    private static final int LEVEL0_SLOTS = 1 << LEVEL0_BITS;
+    /** Number of slots in every further level. */
+    private static final int LEVEL_SLOTS = 1 << LEVEL_BITS;
+    /** Number of levels, covering deadlines up to 2^26 ticks (about 37 days) ahead. */
+    private static final int LEVELS = 4;
+
+    /** Heads of each slot's list of entries, per level. */
+    private final Entry<T>[][] slots;
+    /** The last tick the wheel has advanced to. */
+    private long now;
+    /** Number of entries scheduled. */
+    private int size;
+
+    /**
+     * Constructs an empty wheel.
+     * @param startTick the tick the wheel starts at.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(final long startTick) {
+        this.now = startTick;
+        this.slots = (Entry<T>[][]) new Entry<?>[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            slots[level] = (Entry<T>[]) new Entry<?>[level == 0 ? LEVEL0_SLOTS : LEVEL_SLOTS];
+        }
+    }
+
+    /**
+     * Schedule a value to expire at a tick.
+     * @param value the value to hand back when the deadline is reached.
+     * @param deadline the tick to expire at. Deadlines already passed expire on the next tick.
+     * @return the Entry, used to cancel or re-schedule it.
+     */
+    public Entry<T> schedule(final T value, final long deadline) {
+        var entry = new Entry<>(value);
+        schedule(entry, deadline);
+        return entry;
+    }
+
+    /**
+     * Schedule an Entry, which must not currently be scheduled, to expire at a tick.
+     * @param entry an Entry created by this wheel, which has expired or been canceled.
+     * @param deadline the tick to expire at. Deadlines already passed expire on the next tick.
+     */
+    public void schedule(final Entry<T> entry, final long deadline) {
+        if (entry.isScheduled()) {
+            throw new IllegalStateException("Entry is already scheduled.");
+        }
+        entry.deadline = Math.max(deadline, now + 1);
+        insert(entry);
+        size++;
+    }
+
+    /**
+     * Cancel an Entry, if it is scheduled.
+     * @param entry the Entry to cancel.
+     * @return TRUE if the Entry was scheduled.
+     */
+    public boolean cancel(final Entry<T> entry) {
+        if (!entry.isScheduled()) {
+            return false;
+        }
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advance the wheel, one tick at a time, handing every value whose deadline is reached to a consumer. Values may
+     * be scheduled from within the consumer.
+     * @param toTick the tick to advance to.
+     * @param expired the consumer of expired values.
+     */
+    public void advance(final long toTick, final Consumer<? super T> expired) {
+        while (now < toTick) {
+            now++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = shift(level);
+                if ((now & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) (now >>> shift) & (LEVEL_SLOTS - 1));
+                }
+            }
+            int slot = (int) now & (LEVEL0_SLOTS - 1);
+            Entry<T> entry = detach(0, slot);
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.next = null;
+                size--;
+                if (entry.deadline > now) {
+                    // Only reachable if the wheel was advanced past a slot without cascading; never lose the entry.
+                    schedule(entry, entry.deadline);
+                } else {
+                    expired.accept(entry.value);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    /** @return the last tick the wheel has advanced to. */
+    public long currentTick() {
+        return now;
+    }
+
+    /** @return the number of entries scheduled. */
+    public int size() {
+        return size;
+    }
+
+    private void cascade(final int level, final int slot) {
+        Entry<T> entry = detach(level, slot);
+        while (entry != null) {
+            Entry<T> next = entry.next;
+            entry.next = null;
+            insert(entry);
+            entry = next;
+        }
+    }
+
+    private void insert(final Entry<T> entry) {
+        // Never negative: deadlines are clamped when scheduled, and cascading only happens before they are reached.
+        long delta = entry.deadline - now;
+        if (delta < LEVEL0_SLOTS) {
+            link(entry, 0, (int) entry.deadline & (LEVEL0_SLOTS - 1));
+            return;
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = shift(level);
+            if (delta < 1L << (shift + LEVEL_BITS)) {
+                link(entry, level, (int) (entry.deadline >>> shift) & (LEVEL_SLOTS - 1));
+                return;
+            }
+        }
+        // Beyond the last level: wait in the slot reached last, and be re-inserted from there.
+        int shift = shift(LEVELS - 1);
+        link(entry, LEVELS - 1, (int) ((now >>> shift) + LEVEL_SLOTS - 1) & (LEVEL_SLOTS - 1));
+    }
+
+    private static int shift(final int level) {
+        return LEVEL0_BITS + (level - 1) * LEVEL_BITS;
+    }
+
+    private void link(final Entry<T> entry, final int level, final int slot) {
+        Entry<T> head = slots[level][slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(final Entry<T> entry) {
+        if (entry.prev == null) {
+            slots[entry.level][entry.slot] = entry.next;
+        } else {
+            entry.prev.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.level = Entry.UNSCHEDULED;
+    }
+
+    /**
+     * Remove every entry from a slot, returning them as a chain linked through {@link Entry#next}, with each entry
+     * already marked as unscheduled.
+     */
+    private Entry<T> detach(final int level, final int slot) {
+        Entry<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        for (Entry<T> entry = head; entry != null; entry = entry.next) {
+            entry.prev = null;
+            entry.level = Entry.UNSCHEDULED;
+        }
+        return head;
+    }
+
+    /**
+     * A deadline held by a {@link TimingWheel}.
+     * @param <T> the type of the value held.
+     */
+    public static final class Entry<T> {
+        /** Marks an Entry which is not in any slot. */
+        private static final int UNSCHEDULED = -1;
+
+        /** The value handed back once the deadline is reached. */
+        private final T value;
+        /** The tick the Entry expires at. */
+        private long deadline;
+        /** The level of the slot holding the Entry, or {@link #UNSCHEDULED}. */
+        private int level = UNSCHEDULED;
+        /** The slot holding the Entry, within its level. */
+        private int slot;
+        /** The previous Entry in the slot. */
+        private Entry<T> prev;
+        /** The next Entry in the slot. */
+        private Entry<T> next;
+
+        /** @param held the value handed back once the deadline is reached. */
+        private Entry(final T held) {
+            this.value = held;
+        }
+
+        /** @return the value held. */
+        public T getValue() {
+            return value;
+        }
+
+        /** @return the tick the Entry expires, or last expired, at, after moving past deadlines to the next tick. */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /** @return TRUE if the Entry is waiting in a wheel. */
+        public boolean isScheduled() {
+            return level != UNSCHEDULED;
+        }
+    }
+}
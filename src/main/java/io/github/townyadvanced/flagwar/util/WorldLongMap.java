@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.util;
+
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Spatial map holding one striped {@link LongObjectMap} per world, keyed by a packed coordinate.
+ * <p>
+ * Servers only run a handful of worlds, so worlds are resolved through a small table scanned in order, which is
+ * cheaper than hashing the world name on every lookup. The table is replaced whenever a world is added. Each world's
+ * keys are spread over {@value #STRIPES} stripes, each a separate map guarded by its own {@link StampedLock}, so
+ * writes to different keys rarely contend, even when every war is fought in the same world. Lookups first try an
+ * optimistic read, which writes nothing shared, and only take the stripe's read lock if a write raced with them. Safe
+ * for use from multiple threads.
+ *
+ * @param <V> the type of mapped values.
+ */
+public final class WorldLongMap<V> {
+
+    /** Number of stripes per world. Must be a power of two. */
+    private static final int STRIPES = 16;
+    /** Shift selecting a stripe from the top bits of a mixed key. */
+    private static final int STRIPE_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(STRIPES);
+    /** Multiplier mixing keys before selecting a stripe, so neighbouring coordinates land in different stripes. */
+    private static final long MIX = 0xC2B2AE3D27D4EB4FL;
+
+    /** Per-world entries. Replaced, never modified, when a world is added. */
+    private volatile WorldEntry<V>[] worlds = newEntryArray(0);
+
+    /**
+     * @param worldName name of the world.
+     * @param key packed coordinate key.
+     * @return the mapped value, or null if absent.
+     */
+    public V get(final String worldName, final long key) {
+        WorldEntry<V> entry = find(worldName);
+        if (entry == null) {
+            return null;
+        }
+        Stripe<V> stripe = entry.stripeFor(key);
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            V value = stripe.map.getOptimistic(key);
+            if (stripe.lock.validate(stamp)) {
+                return value;
+            }
+        }
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.map.get(key);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param world the world.
+     * @param key packed coordinate key.
+     * @return the mapped value, or null if absent.
+     */
+    public V get(final World world, final long key) {
+        return get(world.getName(), key);
+    }
+
+    /**
+     * Map a key in a world to a value, replacing any existing mapping.
+     * @param worldName name of the world.
+     * @param key packed coordinate key.
+     * @param value the value. Must not be null.
+     * @return the previously mapped value, or null.
+     */
+    public V put(final String worldName, final long key, final V value) {
+        Stripe<V> stripe = findOrAdd(worldName).stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.put(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically map a key in a world to a value, only if the key is not mapped yet.
+     * @param worldName name of the world.
+     * @param key packed coordinate key.
+     * @param value the value. Must not be null.
+     * @return the existing value if the key was already mapped (leaving it untouched), otherwise null.
+     */
+    public V putIfAbsent(final String worldName, final long key, final V value) {
+        Stripe<V> stripe = findOrAdd(worldName).stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.putIfAbsent(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the mapping for a key in a world, if present.
+     * @param worldName name of the world.
+     * @param key packed coordinate key.
+     * @return the removed value, or null.
+     */
+    public V remove(final String worldName, final long key) {
+        WorldEntry<V> entry = find(worldName);
+        if (entry == null) {
+            return null;
+        }
+        Stripe<V> stripe = entry.stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.remove(key);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically remove the mapping for a key in a world, only if it is mapped to the given value.
+     * @param worldName name of the world.
+     * @param key packed coordinate key.
+     * @param value the value expected to be mapped, compared by identity.
+     * @return true if the mapping was removed.
+     */
+    public boolean remove(final String worldName, final long key, final V value) {
+        WorldEntry<V> entry = find(worldName);
+        if (entry == null) {
+            return false;
+        }
+        Stripe<V> stripe = entry.stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.map.get(key) != value) {
+                return false;
+            }
+            stripe.map.remove(key);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Add every value held, across all worlds, to a collection. Each stripe is read consistently, but mappings made
+     * in one stripe while another is being read may or may not be included.
+     * @param target the collection to add to.
+     */
+    public void collectValues(final Collection<? super V> target) {
+        for (WorldEntry<V> entry : worlds) {
+            for (Stripe<V> stripe : entry.stripes) {
+                long stamp = stripe.lock.readLock();
+                try {
+                    stripe.map.collectValues(target);
+                } finally {
+                    stripe.lock.unlockRead(stamp);
+                }
+            }
+        }
+    }
+
+    /** @return the number of mappings held across all worlds. */
+    public int size() {
+        int total = 0;
+        for (WorldEntry<V> entry : worlds) {
+            for (Stripe<V> stripe : entry.stripes) {
+                long stamp = stripe.lock.readLock();
+                try {
+                    total += stripe.map.size();
+                } finally {
+                    stripe.lock.unlockRead(stamp);
+                }
+            }
+        }
+        return total;
+    }
+
+    /** @return true if no world holds a mapping. */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private WorldEntry<V> find(final String worldName) {
+        for (WorldEntry<V> entry : worlds) {
+            if (entry.name.equals(worldName)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private WorldEntry<V> findOrAdd(final String worldName) {
+        WorldEntry<V> entry = find(worldName);
+        if (entry != null) {
+            return entry;
+        }
+        synchronized (this) {
+            entry = find(worldName);
+            if (entry == null) {
+                WorldEntry<V>[] current = worlds;
+                WorldEntry<V>[] grown = newEntryArray(current.length + 1);
+                System.arraycopy(current, 0, grown, 0, current.length);
+                entry = new WorldEntry<>(worldName);
+                grown[current.length] = entry;
+                worlds = grown;
+            }
+            return entry;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> WorldEntry<V>[] newEntryArray(final int length) {
+        return (WorldEntry<V>[]) new WorldEntry<?>[length];
+    }
+
+    /**
+     * A world's stripes.
+     * @param <V> the type of mapped values.
+     */
+    private static final class WorldEntry<V> {
+        /** Name of the world. */
+        private final String name;
+        /** The world's mappings, spread by key. */
+        private final Stripe<V>[] stripes;
+
+        /** @param worldName name of the world. */
+        @SuppressWarnings("unchecked")
+        private WorldEntry(final String worldName) {
+            this.name = worldName;
+            this.stripes = (Stripe<V>[]) new Stripe<?>[STRIPES];
+            for (var i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe<>();
+            }
+        }
+
+        /**
+         * @param key packed coordinate key.
+         * @return the stripe holding the key.
+         */
+        private Stripe<V> stripeFor(final long key) {
+            return stripes[(int) ((key * MIX) >>> STRIPE_SHIFT)];
+        }
+    }
+
+    /**
+     * A share of a world's mappings, along with the lock guarding it.
+     * @param <V> the type of mapped values.
+     */
+    private static final class Stripe<V> {
+        /** The stripe's mappings. */
+        private final LongObjectMap<V> map = new LongObjectMap<>();
+        /** Guards {@link #map}. */
+        private final StampedLock lock = new StampedLock();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.objects;
+
+import com.palmergames.bukkit.towny.object.Coord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link CellCodec} against the division {@link Cell#parse(String, int, int)} performed before it delegated to
+ * the codec, for power-of-two and other cell sizes.
+ */
+final class CellCodecTest {
+
+    /** Towny's default cell size, restored after each test. */
+    private static final int DEFAULT_CELL_SIZE = 16;
+    /** Distance covered either side of the origin by the exhaustive sweeps. */
+    private static final int SWEEP_RADIUS = 1000;
+    /** Name of the world parsed Cells are placed in. */
+    private static final String WORLD_NAME = "world";
+
+    @AfterEach
+    void restoreCellSize() {
+        Coord.setCellSize(DEFAULT_CELL_SIZE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 8, 16, 32, 64, 3, 7, 10, 12, 24, 100})
+    void toCellMatchesTruncatingDivisionFix(final int cellSize) {
+        Coord.setCellSize(cellSize);
+        for (int block = -SWEEP_RADIUS; block <= SWEEP_RADIUS; block++) {
+            assertEquals(reference(block, cellSize), CellCodec.toCell(block), "block " + block);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 16, 7, 10, 12})
+    void toCellAtCellBoundaries(final int cellSize) {
+        Coord.setCellSize(cellSize);
+        assertEquals(0, CellCodec.toCell(0));
+        assertEquals(0, CellCodec.toCell(cellSize - 1));
+        assertEquals(1, CellCodec.toCell(cellSize));
+        assertEquals(-1, CellCodec.toCell(-1));
+        assertEquals(-1, CellCodec.toCell(-cellSize));
+        assertEquals(-2, CellCodec.toCell(-cellSize - 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 10})
+    void toCellAtIntegerExtremes(final int cellSize) {
+        Coord.setCellSize(cellSize);
+        assertEquals(reference(Integer.MAX_VALUE, cellSize), CellCodec.toCell(Integer.MAX_VALUE));
+        assertEquals(reference(Integer.MIN_VALUE, cellSize), CellCodec.toCell(Integer.MIN_VALUE));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 12})
+    void toKeyMatchesParsedCell(final int cellSize) {
+        Coord.setCellSize(cellSize);
+        int[] coordinates = {-cellSize - 1, -cellSize, -1, 0, 1, cellSize - 1, cellSize, 2 * cellSize + 1};
+        for (int x : coordinates) {
+            for (int z : coordinates) {
+                Cell cell = Cell.parse(WORLD_NAME, x, z);
+                assertEquals(reference(x, cellSize), cell.getX());
+                assertEquals(reference(z, cellSize), cell.getZ());
+                assertEquals(Cell.packKey(cell.getX(), cell.getZ()), CellCodec.toKey(x, z));
+            }
+        }
+    }
+
+    @Test
+    void toCellFollowsCellSizeChanges() {
+        Coord.setCellSize(DEFAULT_CELL_SIZE);
+        assertEquals(-1, CellCodec.toCell(-DEFAULT_CELL_SIZE));
+        Coord.setCellSize(DEFAULT_CELL_SIZE + 1);
+        assertEquals(-1, CellCodec.toCell(-DEFAULT_CELL_SIZE));
+        assertEquals(-2, CellCodec.toCell(-DEFAULT_CELL_SIZE - 2));
+    }
+
+    /**
+     * The conversion {@link Cell#parse(String, int, int)} performed before delegating to {@link CellCodec}.
+     * @param block the block's x or z coordinate.
+     * @param cellSize the cell size.
+     * @return the Cell's x or z coordinate.
+     */
+    private static int reference(final int block, final int cellSize) {
+        int result = block / cellSize;
+        boolean needFix = block % cellSize != 0;
+        return result - (block < 0 && needFix ? 1 : 0);
+    }
+}
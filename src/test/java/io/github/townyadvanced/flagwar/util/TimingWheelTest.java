@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 TownyAdvanced
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.github.townyadvanced.flagwar.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link TimingWheel} expires every entry on exactly its deadline, whether it starts in the first level or is
+ * cascaded down from a further one, and never expires canceled entries.
+ */
+final class TimingWheelTest {
+
+    /** A start tick which is not aligned to any level's rotation. */
+    private static final long UNALIGNED_START = 12_345L;
+    /** Ticks spanned by the first level. */
+    private static final long LEVEL0_SPAN = 1L << 8;
+    /** Ticks spanned by the second level. */
+    private static final long LEVEL1_SPAN = 1L << 14;
+    /** Ticks spanned by the third level. */
+    private static final long LEVEL2_SPAN = 1L << 20;
+    /** Ticks spanned by the fourth and last level. */
+    private static final long LEVEL3_SPAN = 1L << 26;
+
+    /** The tick each value expired at. */
+    private final Map<String, Long> expiredAt = new HashMap<>();
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, UNALIGNED_START})
+    void expiresWithinFirstLevel(final long start) {
+        TimingWheel<String> wheel = new TimingWheel<>(start);
+        wheel.schedule("next", start + 1);
+        wheel.schedule("middle", start + LEVEL0_SPAN / 2);
+        wheel.schedule("last", start + LEVEL0_SPAN - 1);
+
+        advance(wheel, start + LEVEL0_SPAN / 2 - 1);
+        assertEquals(Map.of("next", start + 1), expiredAt);
+
+        advance(wheel, start + LEVEL0_SPAN);
+        assertEquals(start + LEVEL0_SPAN / 2, expiredAt.get("middle"));
+        assertEquals(start + LEVEL0_SPAN - 1, expiredAt.get("last"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void expiresPassedDeadlinesOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(UNALIGNED_START);
+        TimingWheel.Entry<String> entry = wheel.schedule("late", UNALIGNED_START - 10);
+        assertEquals(UNALIGNED_START + 1, entry.getDeadline());
+
+        advance(wheel, UNALIGNED_START + 1);
+        assertEquals(UNALIGNED_START + 1, expiredAt.get("late"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, UNALIGNED_START})
+    void cascadesFromEveryLevel(final long start) {
+        TimingWheel<String> wheel = new TimingWheel<>(start);
+        Map<String, Long> deadlines = Map.of(
+            "level1-first", start + LEVEL0_SPAN,
+            "level1-last", start + LEVEL1_SPAN - 1,
+            "level2-first", start + LEVEL1_SPAN,
+            "level2-last", start + LEVEL2_SPAN - 1,
+            "level3-first", start + LEVEL2_SPAN,
+            "level3-last", start + LEVEL3_SPAN - 1);
+        deadlines.forEach(wheel::schedule);
+
+        for (long deadline : deadlines.values().stream().sorted().toList()) {
+            advance(wheel, deadline - 1);
+            assertFalse(expiredAt.containsValue(deadline), () -> "expired before tick " + deadline);
+        }
+        advance(wheel, start + LEVEL3_SPAN);
+        assertEquals(deadlines, expiredAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void expiresBeyondLastLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(UNALIGNED_START);
+        long deadline = UNALIGNED_START + LEVEL3_SPAN + LEVEL0_SPAN + 1;
+        wheel.schedule("beyond", deadline);
+
+        advance(wheel, deadline - 1);
+        assertTrue(expiredAt.isEmpty());
+        advance(wheel, deadline);
+        assertEquals(deadline, expiredAt.get("beyond"));
+    }
+
+    @Test
+    void cancelsEntriesInEveryLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(UNALIGNED_START);
+        TimingWheel.Entry<String> level0 = wheel.schedule("level0", UNALIGNED_START + 2);
+        TimingWheel.Entry<String> level1 = wheel.schedule("level1", UNALIGNED_START + LEVEL0_SPAN * 2);
+        TimingWheel.Entry<String> level2 = wheel.schedule("level2", UNALIGNED_START + LEVEL1_SPAN * 2);
+        wheel.schedule("kept", UNALIGNED_START + LEVEL1_SPAN * 2);
+        assertEquals(4, wheel.size());
+
+        assertTrue(wheel.cancel(level0));
+        assertTrue(wheel.cancel(level1));
+        assertFalse(level0.isScheduled());
+        assertFalse(wheel.cancel(level0));
+        assertEquals(2, wheel.size());
+
+        // Cancel the other entry only after it has been cascaded into a lower level.
+        advance(wheel, UNALIGNED_START + LEVEL1_SPAN * 2 - 1);
+        assertTrue(level2.isScheduled());
+        assertTrue(wheel.cancel(level2));
+
+        advance(wheel, UNALIGNED_START + LEVEL1_SPAN * 2);
+        assertEquals(Map.of("kept", UNALIGNED_START + LEVEL1_SPAN * 2), expiredAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void reschedulesFromWithinConsumer() {
+        TimingWheel<String> wheel = new TimingWheel<>(0L);
+        long period = LEVEL0_SPAN + 3;
+        TimingWheel.Entry<String> entry = wheel.schedule("repeating", period);
+        int[] runs = new int[1];
+
+        wheel.advance(period * 3, value -> {
+            runs[0]++;
+            assertEquals(period * runs[0], wheel.currentTick());
+            wheel.schedule(entry, entry.getDeadline() + period);
+        });
+        assertEquals(3, runs[0]);
+        assertTrue(entry.isScheduled());
+        assertEquals(period * 4, entry.getDeadline());
+    }
+
+    @Test
+    void rejectsSchedulingScheduledEntry() {
+        TimingWheel<String> wheel = new TimingWheel<>(0L);
+        TimingWheel.Entry<String> entry = wheel.schedule("once", 1);
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(entry, 2));
+        assertNull(expiredAt.get("once"));
+    }
+
+    /**
+     * Advance a wheel, recording the tick each value expires at.
+     * @param wheel the TimingWheel.
+     * @param toTick the tick to advance to.
+     */
+    private void advance(final TimingWheel<String> wheel, final long toTick) {
+        wheel.advance(toTick, value -> {
+            Long previous = expiredAt.put(value, wheel.currentTick());
+            assertNull(previous, () -> value + " expired twice");
+        });
+    }
+}